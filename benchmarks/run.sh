@@ -0,0 +1,20 @@
+#!/bin/sh
+# Runs the hot-path benchmark suite and writes JMH JSON results named after the current commit, e.g.
+#   benchmarks/run.sh                      -> benchmarks/results/<sha>.json
+#   benchmarks/run.sh -p size=10000        (extra arguments are passed to JMH)
+# Compare two runs by uploading both files to https://jmh.morethan.io or diffing their primaryMetric.score.
+set -e
+cd "$(dirname "$0")/.."
+
+SHA=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- src pom.xml)" ]; then
+  SHA="$SHA-dirty"
+fi
+mkdir -p benchmarks/results
+
+mvn -B -q install -DskipTests
+mvn -B -q -f benchmarks/pom.xml package
+java -jar benchmarks/target/benchmarks.jar \
+  'DtoConversionBenchmark|JsonSerializationBenchmark|AuthoritiesBenchmark|NotificationMessageBenchmark' \
+  -prof gc -rf json -rff "benchmarks/results/$SHA.json" "$@"
+echo "Results: benchmarks/results/$SHA.json"
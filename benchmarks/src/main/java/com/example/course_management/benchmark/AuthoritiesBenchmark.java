@@ -0,0 +1,57 @@
+package com.example.course_management.benchmark;
+
+import com.example.course_management.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code User.getAuthorities()}, called by Spring Security on every authenticated request and on each role check.
+ * It builds a new {@link SimpleGrantedAuthority} and upper-cases the role each time; {@code precomputed} is the
+ * floor a cached authority list would reach. Run with {@code -prof gc} to compare allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthoritiesBenchmark {
+
+    // Covers both branches of the ROLE_ prefix check
+    @Param({"ROLE_TEACHER", "teacher"})
+    public String role;
+
+    private User user;
+    private List<GrantedAuthority> precomputed;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.teacher(1, role);
+        precomputed = List.copyOf(user.getAuthorities());
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return user.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> precomputed() {
+        return precomputed;
+    }
+}
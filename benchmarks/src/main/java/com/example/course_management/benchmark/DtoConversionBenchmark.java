@@ -0,0 +1,67 @@
+package com.example.course_management.benchmark;
+
+import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.dto.CourseDTO;
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.Course;
+import com.example.course_management.service.AbsenceRequestService;
+import com.example.course_management.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity-to-DTO conversion of whole list responses, as done by {@code /courses} and the absence request lists.
+ * <p>
+ * The services are built without repositories: conversion only reads the (already loaded) entities, so this
+ * isolates the mapping cost from the query. Run with {@code -prof gc} to see bytes allocated per list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConversionBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private CourseService courseService;
+    private AbsenceRequestService absenceRequestService;
+    private List<Course> courses;
+    private List<AbsenceRequest> absenceRequests;
+
+    @Setup
+    public void setUp() {
+        courseService = new CourseService(null, null, null, null);
+        absenceRequestService = new AbsenceRequestService(null, null, null, null, null);
+        courses = Fixtures.courses(size);
+        absenceRequests = Fixtures.absenceRequests(size);
+    }
+
+    // Same pipeline as CourseService.getAllCourses after the query
+    @Benchmark
+    public List<CourseDTO> courseConvertToDTO() {
+        return courses.stream()
+                .map(courseService::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<AbsenceRequestDTO> absenceConvertToDTOList() {
+        return absenceRequestService.convertToDTOList(absenceRequests);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.course_management.benchmark;
+
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.Course;
+import com.example.course_management.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities shaped like production rows: one teacher per 20 courses, one absence request per course.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static User teacher(long id, String role) {
+        User teacher = new User();
+        teacher.setId(id);
+        teacher.setUsername("teacher" + id);
+        teacher.setEmail("teacher" + id + "@example.com");
+        teacher.setFullName("Teacher Number " + id);
+        teacher.setRole(role);
+        return teacher;
+    }
+
+    static List<Course> courses(int size) {
+        List<Course> courses = new ArrayList<>(size);
+        User teacher = null;
+        for (int i = 0; i < size; i++) {
+            if (i % 20 == 0) {
+                teacher = teacher(i / 20 + 1, "ROLE_TEACHER");
+            }
+            Course course = new Course();
+            course.setId((long) i + 1);
+            course.setCourseName("Course " + i);
+            course.setName("Course " + i);
+            course.setDescription("Makeup session covering chapters " + i % 12 + " to " + (i % 12 + 2));
+            course.setTimetable("Mon 10:00-12:00, Room B" + i % 40);
+            course.setStatus(i % 3 == 0 ? "PENDING" : "APPROVED");
+            course.setType(i % 4 == 0 ? "MAKEUP" : "NORMAL");
+            course.setTeacher(teacher);
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    static List<AbsenceRequest> absenceRequests(int size) {
+        List<AbsenceRequest> requests = new ArrayList<>(size);
+        LocalDateTime submittedAt = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (Course course : courses(size)) {
+            AbsenceRequest request = new AbsenceRequest();
+            request.setId(course.getId());
+            request.setTeacher(course.getTeacher());
+            request.setCourse(course);
+            request.setJustification("Medical appointment, certificate attached");
+            request.setStatus(course.getId() % 2 == 0 ? "APPROVED" : "PENDING");
+            request.setSubmittedAt(submittedAt.plusMinutes(course.getId()));
+            requests.add(request);
+        }
+        return requests;
+    }
+}
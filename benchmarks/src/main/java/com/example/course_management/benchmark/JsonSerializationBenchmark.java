@@ -0,0 +1,67 @@
+package com.example.course_management.benchmark;
+
+import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.dto.CourseDTO;
+import com.example.course_management.service.AbsenceRequestService;
+import com.example.course_management.service.CourseService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson serialization of list responses to bytes, the work {@code JsonResponseCache} saves on a hit.
+ * <p>
+ * The mapper is configured like Spring Boot's default one (ISO dates, JSR-310 module).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<CourseDTO> courses;
+    private List<AbsenceRequestDTO> absenceRequests;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        CourseService courseService = new CourseService(null, null, null, null);
+        courses = Fixtures.courses(size).stream().map(courseService::convertToDTO).collect(Collectors.toList());
+        absenceRequests = new AbsenceRequestService(null, null, null, null, null)
+                .convertToDTOList(Fixtures.absenceRequests(size));
+    }
+
+    @Benchmark
+    public byte[] courseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] absenceRequestList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(absenceRequests);
+    }
+}
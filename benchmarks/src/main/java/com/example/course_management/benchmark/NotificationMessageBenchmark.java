@@ -0,0 +1,48 @@
+package com.example.course_management.benchmark;
+
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.Course;
+import com.example.course_management.service.NotificationMessages;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of the student broadcast bodies ({@link NotificationMessages}), which use {@code String.format}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationMessageBenchmark {
+
+    private Course makeupCourse;
+    private AbsenceRequest absenceRequest;
+
+    @Setup
+    public void setUp() {
+        makeupCourse = Fixtures.courses(1).get(0);
+        absenceRequest = Fixtures.absenceRequests(1).get(0);
+    }
+
+    @Benchmark
+    public String approvedMakeup() {
+        return NotificationMessages.approvedMakeupForStudents(makeupCourse);
+    }
+
+    @Benchmark
+    public String approvedAbsence() {
+        return NotificationMessages.approvedAbsenceForStudents(absenceRequest);
+    }
+}
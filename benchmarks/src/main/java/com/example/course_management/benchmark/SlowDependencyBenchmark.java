@@ -0,0 +1,91 @@
+package com.example.course_management.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request handling under a slow blocking dependency (MySQL or SMTP stalling), platform pool vs virtual threads.
+ * <p>
+ * 400 client threads each submit one "request" and wait for it; the request blocks for {@code latencyMillis}.
+ * {@code platform} is a fixed pool of 200 threads (Tomcat's default {@code server.tomcat.threads.max}), so half
+ * the clients queue and p99 grows by whole latency multiples; {@code virtual} runs one virtual thread per request.
+ * The {@code synchronized} blocking mode holds a per-request monitor across the wait, as older JDBC drivers do
+ * around socket reads: on JDK 21 that pins the carrier, capping virtual-thread concurrency at the core count.
+ * Throughput and SampleTime (p50/p90/p99) are reported together. Requires a JDK 21 runtime for {@code virtual}:
+ * <pre>java -Djdk.tracePinnedThreads=short -jar benchmarks/target/benchmarks.jar SlowDependencyBenchmark -rf json</pre>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class SlowDependencyBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"plain", "synchronized"})
+    public String blocking;
+
+    @Param({"5", "50"})
+    public long latencyMillis;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        if ("virtual".equals(threads)) {
+            // Looked up reflectively so the module still builds on the project's Java 17 baseline
+            try {
+                executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("threads=virtual needs a JDK 21 runtime", e);
+            }
+        } else {
+            executor = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public long request() throws ExecutionException, InterruptedException {
+        return executor.submit(this::callDependency).get();
+    }
+
+    private long callDependency() throws InterruptedException {
+        if ("synchronized".equals(blocking)) {
+            Object connectionMonitor = new Object();
+            synchronized (connectionMonitor) {
+                Thread.sleep(latencyMillis);
+            }
+        } else {
+            Thread.sleep(latencyMillis);
+        }
+        return latencyMillis;
+    }
+}
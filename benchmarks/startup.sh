@@ -0,0 +1,72 @@
+#!/bin/bash
+# Measures time to first request of the production jar: from launching the JVM until /actuator/health answers
+# (any status). Each mode is started RUNS times and the median is reported:
+#   plain     no AOT, no CDS
+#   aot       -Dspring.aot.enabled=true
+#   cds       CDS archive
+#   aot+cds   both
+# Every mode runs the extracted jar (see scripts/cds-archive.sh), so only AOT and CDS differ between them.
+# Usage:
+#   JAVA_OPTS="-Dspring.datasource.url=... -Dspring.datasource.password=..." benchmarks/startup.sh [runs]
+# REGISTRATION_TOKEN_SECRET must be exported, as for any start. The "prod" profile validates the schema, so the
+# database must already have it. EXTRA_CLASSPATH adds jars (e.g. another JDBC driver) to the class path.
+# Raw timings are written to benchmarks/results/startup-<sha>.csv.
+set -e
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-8090}
+MAIN=com.example.course_management.CourseManagementApplication
+
+SHA=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- src pom.xml)" ]; then
+  SHA="$SHA-dirty"
+fi
+mkdir -p benchmarks/results
+CSV="benchmarks/results/startup-$SHA.csv"
+echo "mode,run,time_to_first_request_ms" > "$CSV"
+
+mvn -B -q -Pprod package -DskipTests
+JAR=$(ls target/course-management-*-exec.jar)
+export JAVA_OPTS="-Dserver.port=$PORT $JAVA_OPTS"
+AOT=false scripts/cds-archive.sh target/cds-plain > /dev/null
+AOT=true scripts/cds-archive.sh target/cds-aot > /dev/null
+CP_PLAIN="target/cds-plain/$(basename "$JAR")${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}"
+CP_AOT="target/cds-aot/$(basename "$JAR")${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}"
+
+# Prints milliseconds from launch to the first HTTP response; arguments are the java command line
+time_to_first_request() {
+  local start pid elapsed
+  start=$(date +%s%N)
+  # shellcheck disable=SC2086
+  java $JAVA_OPTS "$@" --spring.profiles.active=prod > target/startup-run.log 2>&1 &
+  pid=$!
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health")" != "000" ]; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Application exited during startup, see target/startup-run.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$elapsed"
+}
+
+run_mode() {
+  local mode=$1 i ms
+  shift
+  for i in $(seq 1 "$RUNS"); do
+    ms=$(time_to_first_request "$@")
+    echo "$mode,$i,$ms" >> "$CSV"
+  done
+  printf '%-8s median %6d ms\n' "$mode" \
+    "$(grep "^$mode," "$CSV" | cut -d, -f3 | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')"
+}
+
+run_mode plain -cp "$CP_PLAIN" "$MAIN"
+run_mode aot -Dspring.aot.enabled=true -cp "$CP_AOT" "$MAIN"
+run_mode cds -XX:SharedArchiveFile=target/cds-plain/application.jsa -cp "$CP_PLAIN" "$MAIN"
+run_mode aot+cds -XX:SharedArchiveFile=target/cds-aot/application.jsa -Dspring.aot.enabled=true -cp "$CP_AOT" "$MAIN"
+echo "Results: $CSV"
@@ -0,0 +1,28 @@
+#!/bin/sh
+# Builds a class-data-sharing (CDS) archive for the packaged application, so the JVM maps already parsed and
+# verified classes at startup instead of loading them from the jar:
+#   mvn -Pprod package -DskipTests
+#   scripts/cds-archive.sh                   -> target/cds/ (extracted application + application.jsa)
+#   java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true \
+#        -jar target/cds/course-management-*-exec.jar --spring.profiles.active=prod
+# The archive is recorded by a training run that starts the "prod" context and exits once it is refreshed, so the
+# database has to be reachable (pass its settings in JAVA_OPTS) and REGISTRATION_TOKEN_SECRET exported. Launch with the same JDK, the same jar and the
+# same AOT setting as the training run, otherwise the JVM ignores the archive. Set AOT=false for a jar built
+# without -Pprod, and EXTRA_CLASSPATH to add jars such as another JDBC driver.
+set -e
+cd "$(dirname "$0")/.."
+
+OUT=${1:-target/cds}
+AOT=${AOT:-true}
+JAR=$(ls target/course-management-*-exec.jar)
+
+rm -rf "$OUT"
+# The archive only covers classes loaded from plain jars on the class path, not from a nested fat jar
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT"
+
+# shellcheck disable=SC2086
+java -XX:ArchiveClassesAtExit="$OUT/application.jsa" -Dspring.context.exit=onRefresh \
+  -Dspring.aot.enabled="$AOT" $JAVA_OPTS \
+  -cp "$OUT/$(basename "$JAR")${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}" \
+  com.example.course_management.CourseManagementApplication --spring.profiles.active=prod
+echo "Archive: $OUT/application.jsa"
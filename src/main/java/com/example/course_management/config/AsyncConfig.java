@@ -0,0 +1,88 @@
+package com.example.course_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    public static final String DASHBOARD_EXECUTOR = "dashboardExecutor";
+    public static final String TEACHER_EVENTS_EXECUTOR = "teacherEventsExecutor";
+
+    // Background SMTP delivery; when the queue is full the caller sends itself, which throttles producers
+    @Bean(name = MAIL_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor mailExecutor(@Value("${mail.executor.threads:4}") int threads,
+                                               @Value("${mail.executor.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mail-");
+        executor.setTaskDecorator(tenantPropagation());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Virtual-thread mode (spring.threads.virtual.enabled on JDK 21): one virtual thread per email, so a stalled
+    // SMTP server parks cheap threads instead of exhausting a pool. The concurrency limit caps open SMTP
+    // connections; beyond it the submitting thread waits, the same back-pressure CallerRunsPolicy gives above
+    @Bean(name = MAIL_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualMailExecutor(@Value("${mail.executor.max-concurrent-sends:64}") int maxConcurrentSends) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mail-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(tenantPropagation());
+        executor.setConcurrencyLimit(maxConcurrentSends);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+
+    // Parallel read queries behind the teacher dashboard. Sized below the Hikari pool so dashboards cannot take
+    // every connection; when saturated the request thread runs the query itself, degrading to sequential
+    @Bean(name = DASHBOARD_EXECUTOR)
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${dashboard.executor.threads:6}") int threads,
+                                                    @Value("${dashboard.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setTaskDecorator(tenantPropagation());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // Writes teacher SSE events to client sockets, so a slow client never holds the committing thread. At most one
+    // task per open stream is queued; when the queue is full the task is rejected and the events wait for the next
+    // publish, never run by the caller
+    @Bean(name = TEACHER_EVENTS_EXECUTOR)
+    public ThreadPoolTaskExecutor teacherEventsExecutor(@Value("${teacher-events.executor.threads:2}") int threads,
+                                                        @Value("${teacher-events.executor.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("teacher-events-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    // Tasks run for the tenant that submitted them (dashboard queries hit its database, emails use its addresses)
+    public static TaskDecorator tenantPropagation() {
+        return TenantContext::wrap;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.course_management.config;
+
+import com.example.course_management.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Honours the {@code Idempotency-Key} header on the configured POST endpoints ({@code idempotency.paths}).
+ * The first successful response is captured and replayed byte for byte to retries carrying the same key,
+ * so the controller, its transaction and its notification emails run only once.
+ * Runs after authorization: keys are scoped per authenticated user, and a replay is never served to
+ * someone who could not have made the original request. Reusing a key for a different method, path or body
+ * is answered with 422 rather than a replay of the unrelated first response. Bodies larger than
+ * {@link IdempotencyService#getMaxBodyBytes()} are answered with 413 without being buffered.
+ * See {@link IdempotencyService} for why retries must reach the same instance.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HEADER) == null
+                || !idempotencyService.appliesTo(request.getMethod(), request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // The body is read up front to fingerprint it, then served again to the controller.
+        // It is held in memory, so its size is checked first and the read is bounded for bodies without a length.
+        int maxBodyBytes = idempotencyService.getMaxBodyBytes();
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            rejectTooLarge(response, maxBodyBytes);
+            return;
+        }
+        BufferedRequest buffered = BufferedRequest.read(request, maxBodyBytes);
+        if (buffered == null) {
+            rejectTooLarge(response, maxBodyBytes);
+            return;
+        }
+        String fingerprint = IdempotencyService.fingerprint(request.getMethod(), request.getServletPath(), buffered.body);
+        String key = idempotencyService.scopedKey(caller(request), request.getMethod(), request.getServletPath(), idempotencyKey);
+        IdempotencyService.StoredResponse stored = idempotencyService.find(key);
+        if (stored != null) {
+            replayOrReject(stored, fingerprint, response);
+            return;
+        }
+        if (idempotencyService.begin(key) == IdempotencyService.Begin.IN_FLIGHT) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+            return;
+        }
+        // The first request may have completed between the lookup and the claim
+        stored = idempotencyService.find(key);
+        if (stored != null) {
+            idempotencyService.abandon(key);
+            replayOrReject(stored, fingerprint, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(buffered, wrapper);
+            int status = wrapper.getStatus();
+            if (status >= 200 && status < 300) {
+                idempotencyService.complete(key, capture(fingerprint, wrapper));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.abandon(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static IdempotencyService.StoredResponse capture(String fingerprint, ContentCachingResponseWrapper wrapper) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        String location = wrapper.getHeader(HttpHeaders.LOCATION);
+        if (location != null) {
+            headers.put(HttpHeaders.LOCATION, location);
+        }
+        return new IdempotencyService.StoredResponse(fingerprint, wrapper.getStatus(), wrapper.getContentType(),
+                wrapper.getContentAsByteArray(), headers);
+    }
+
+    private static void replayOrReject(IdempotencyService.StoredResponse stored, String fingerprint,
+                                       HttpServletResponse response) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used for a different request");
+            return;
+        }
+        replay(stored, response);
+    }
+
+    private static void replay(IdempotencyService.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach(response::setHeader);
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void rejectTooLarge(HttpServletResponse response, int maxBodyBytes) throws IOException {
+        reject(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                "Requests with an " + HEADER + " are limited to " + maxBodyBytes + " bytes");
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain");
+        response.getWriter().write(message);
+    }
+
+    // Holds the whole body in memory, at most idempotency.max-body-size of it
+    private static final class BufferedRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private BufferedRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        /**
+         * @return the request with its body buffered, or null if the body is longer than {@code maxBytes}
+         */
+        static BufferedRequest read(HttpServletRequest request, int maxBytes) throws IOException {
+            // One byte past the limit is enough to tell an oversized body from one exactly at it
+            byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+            return body.length > maxBytes ? null : new BufferedRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.course_management.config;
+
+import com.example.course_management.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <access token>}.
+ * Identity and role come from the verified token claims, so no user lookup or session is needed.
+ * The teacher event stream also accepts {@code ?ticket=<stream ticket>}, since EventSource cannot set headers.
+ * Not a @Component on purpose: it is only added to the security chain when auth.mode=jwt.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    static final String STREAM_PATH = "/api/teacher/events";
+    static final String TICKET_PARAMETER = "ticket";
+
+    private final JwtService jwtService;
+
+    public JwtAuthenticationFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String ticket = request.getParameter(TICKET_PARAMETER);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            authenticate(header.substring(BEARER_PREFIX.length()), JwtService.TOKEN_TYPE_ACCESS);
+        } else if (ticket != null && isStreamRequest(request)) {
+            // Checked once at connect time; an open stream outlives its ticket, as it would an access token
+            authenticate(ticket, JwtService.TOKEN_TYPE_STREAM);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String token, String expectedType) {
+        try {
+            Claims claims = jwtService.parse(token, expectedType);
+            String role = jwtService.getRole(claims);
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    claims.getSubject(),
+                    null,
+                    role != null ? Collections.singletonList(new SimpleGrantedAuthority(role)) : Collections.emptyList()
+            );
+            authentication.setDetails(jwtService.getUserId(claims));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid/expired token: leave the request unauthenticated, the entry point answers 401
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Tickets end up in access logs and browser history, so no other endpoint accepts them
+    private static boolean isStreamRequest(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod())
+                && STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.course_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Signing configuration for stateless JWT authentication.
+ * <p>
+ * {@code keys} maps a key id to a Base64-encoded HMAC secret (at least 256 bits). New tokens are signed
+ * with {@code activeKeyId}; every other listed key is still accepted for verification, so a key can be
+ * rotated by adding a new one, switching {@code activeKeyId}, and removing the old one once the
+ * refresh-token TTL has elapsed. {@code streamTicketTtl} bounds the tickets that authenticate event streams,
+ * which travel in the URL. Keys are read from the environment (e.g. {@code jwt.keys.k1=${JWT_KEY_K1}}),
+ * never committed.
+ */
+@ConfigurationProperties(prefix = "jwt")
+public record JwtProperties(
+        String issuer,
+        Duration accessTokenTtl,
+        Duration refreshTokenTtl,
+        Duration streamTicketTtl,
+        String activeKeyId,
+        Map<String, String> keys
+) {
+}
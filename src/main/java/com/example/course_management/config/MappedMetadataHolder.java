@@ -0,0 +1,44 @@
+package com.example.course_management.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the mapping metadata Hibernate booted with, which {@link TenantSchemaInitializer} needs to run the schema
+ * tools against a tenant's own catalog ({@code SchemaManager} only knows the one it saw at startup).
+ */
+@Component
+@ConditionalOnProperty(name = "tenancy.enabled", havingValue = "true")
+public class MappedMetadataHolder implements HibernatePropertiesCustomizer, Integrator {
+
+    private volatile Metadata metadata;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(this));
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+    }
+
+    public Metadata getMetadata() {
+        return metadata;
+    }
+}
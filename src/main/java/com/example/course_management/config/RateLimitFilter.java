@@ -0,0 +1,74 @@
+package com.example.course_management.config;
+
+import com.example.course_management.service.RateLimiterService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects requests early with 429 (client over quota) or 503 (node over its in-flight limit),
+ * before they reach a controller or take a DB connection.
+ * Runs inside the security chain after authentication, so authenticated clients are keyed by
+ * user and role, anonymous ones (e.g. /api/auth/login) by remote address.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiterService rateLimiterService;
+
+    public RateLimitFilter(RateLimiterService rateLimiterService) {
+        this.rateLimiterService = rateLimiterService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiterService.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String clientKey;
+        String role = null;
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            clientKey = "user:" + authentication.getName();
+            role = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .findFirst()
+                    .orElse(null);
+        } else {
+            // Honours X-Forwarded-For only when server.forward-headers-strategy is configured
+            clientKey = "ip:" + request.getRemoteAddr();
+        }
+
+        RateLimiterService.Result result = rateLimiterService.acquire(request.getServletPath(), clientKey, role);
+        switch (result.decision()) {
+            case SHED -> reject(response, HttpStatus.SERVICE_UNAVAILABLE, result.retryAfterSeconds(), "Server busy, please retry shortly");
+            case RATE_LIMITED -> reject(response, HttpStatus.TOO_MANY_REQUESTS, result.retryAfterSeconds(), "Too many requests");
+            default -> {
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    rateLimiterService.release();
+                }
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.course_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request quotas per path group. The group with the most specific matching pattern wins (as Spring MVC ranks
+ * mappings), independent of declaration order. Each client (authenticated user, or remote IP when anonymous)
+ * gets its own bucket per group; {@code role-quotas} override the group quota for a role
+ * (keyed by role name without the ROLE_ prefix, in lower case).
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        // Requests in progress beyond this are shed with 503 before doing any work; 0 = three quarters of
+        // server.tomcat.threads.max
+        @DefaultValue("0") int maxInFlight,
+        Map<String, Group> groups
+) {
+
+    public record Group(List<String> paths, Quota quota, Map<String, Quota> roleQuotas) {
+    }
+
+    public record Quota(long capacity, double refillPerSecond) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.course_management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Enables @Scheduled background jobs (e.g. absence request archival)
+}
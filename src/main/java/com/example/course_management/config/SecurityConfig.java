@@ -1,29 +1,58 @@
 package com.example.course_management.config;
 
+import com.example.course_management.service.IdempotencyService;
+import com.example.course_management.service.JwtService;
+import com.example.course_management.service.RateLimiterService;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider; // Import DaoAuthenticationProvider
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({JwtProperties.class, RateLimitProperties.class})
 public class SecurityConfig {
 
+    public static final String AUTH_MODE_JWT = "jwt";
+
     // Inject your custom UserDetailsService
     private final MyUserDetailsService myUserDetailsService;
+    private final JwtService jwtService;
+    private final RateLimiterService rateLimiterService;
+    private final IdempotencyService idempotencyService;
+
+    // "session" (HttpSession login, default) or "jwt" (stateless bearer tokens, opt-in)
+    @Value("${auth.mode:session}")
+    private String authMode;
 
-    public SecurityConfig(MyUserDetailsService myUserDetailsService) {
+    public SecurityConfig(MyUserDetailsService myUserDetailsService, JwtService jwtService,
+                          RateLimiterService rateLimiterService,
+                          IdempotencyService idempotencyService) {
         this.myUserDetailsService = myUserDetailsService;
+        this.jwtService = jwtService;
+        this.rateLimiterService = rateLimiterService;
+        this.idempotencyService = idempotencyService;
     }
 
     @Bean
@@ -32,18 +61,41 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (SSE streams) continue a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/v3/api-docs/**").permitAll()
                 .requestMatchers("/api/test/send-test-email").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                 .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
                 .requestMatchers("/api/teacher/**").hasAuthority("ROLE_TEACHER")
                 .requestMatchers("/api/direction/**").hasAuthority("ROLE_DIRECTION")
                 .anyRequest().permitAll()
-            )
-            .sessionManagement(session -> session
-                .sessionCreationPolicy(SessionCreationPolicy.ALWAYS)
             );
 
+        if (AUTH_MODE_JWT.equals(authMode)) {
+            // No HttpSession at all: any node behind a round-robin balancer can serve any request
+            http
+                .sessionManagement(session -> session
+                    .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(ex -> ex
+                    .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+                );
+        } else {
+            http
+                .sessionManagement(session -> session
+                    .sessionCreationPolicy(SessionCreationPolicy.ALWAYS)
+                );
+        }
+
+        // After authentication (so quotas can be per user/role), before any authorization or controller work
+        http.addFilterBefore(new RateLimitFilter(rateLimiterService), AuthorizationFilter.class);
+        // After authorization, so a stored response is only ever replayed to a caller allowed to make the request
+        http.addFilterAfter(new IdempotencyFilter(idempotencyService), AuthorizationFilter.class);
+
         // You don't explicitly need to add the provider here in newer Spring Security versions
         // if it's defined as a @Bean, but you can if needed:
         // http.authenticationProvider(authenticationProvider());
@@ -77,10 +129,23 @@ public class SecurityConfig {
         return source;
     }
 
+    // BCrypt cost factor; pick it with PasswordHashingBenchmark (benchmarks module) for the target p99 login latency
+    @Value("${password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        // WARNING: NoOpPasswordEncoder is NOT recommended for production.
-        // Use a strong hashing algorithm like BCryptPasswordEncoder instead.
-        return NoOpPasswordEncoder.getInstance();
+        return passwordEncoder(bcryptStrength);
+    }
+
+    public static PasswordEncoder passwordEncoder(int bcryptStrength) {
+        // New hashes are stored as {bcrypt}...; rows without an {id} prefix are legacy plaintext.
+        // They still match through NoOpPasswordEncoder and are re-hashed on the next successful login.
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("noop", NoOpPasswordEncoder.getInstance());
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(NoOpPasswordEncoder.getInstance());
+        return passwordEncoder;
     }
 }
@@ -0,0 +1,62 @@
+package com.example.course_management.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Marks rarely used beans lazy so they are built on first use instead of at startup. Unlike
+ * {@code spring.main.lazy-initialization} this leaves everything on the request path eager, so the first request
+ * does not pay for the whole context.
+ * <p>
+ * Beans are selected by name ({@code startup.lazy-beans}) or by the package of their class, or of the
+ * configuration class declaring them for {@code @Bean} methods ({@code startup.lazy-packages}). Infrastructure
+ * beans stay eager; post-processors are always created up front regardless of the flag.
+ */
+@Component
+@Profile("prod")
+public class SelectiveLazyInitialization implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private List<String> lazyBeans = List.of();
+    private List<String> lazyPackages = List.of();
+
+    // Post-processors are created before @Value injection is available, so the lists are bound directly
+    @Override
+    public void setEnvironment(Environment environment) {
+        Binder binder = Binder.get(environment);
+        lazyBeans = binder.bind("startup.lazy-beans", String[].class).map(List::of).orElse(List.of());
+        lazyPackages = binder.bind("startup.lazy-packages", String[].class).map(List::of).orElse(List.of());
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE || !definition.isSingleton()
+                    || definition.isAbstract()) {
+                continue;
+            }
+            if (lazyBeans.contains(name) || inLazyPackage(beanFactory, definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private boolean inLazyPackage(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getFactoryBeanName() != null
+                && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+            className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        }
+        String type = className;
+        return type != null && lazyPackages.stream().anyMatch(type::startsWith);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.course_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(TenantProperties.class)
+public class TenancyConfig {
+
+    // Replaces the auto-configured pool. Every pool takes the shared spring.datasource.hikari.* settings;
+    // moving a tenant to another database server is a matter of changing its url
+    @Bean
+    @ConditionalOnProperty(name = "tenancy.enabled", havingValue = "true")
+    public TenantRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                              TenantProperties tenantProperties,
+                                              Environment environment) {
+        Binder binder = Binder.get(environment);
+        Map<String, DataSource> pools = new HashMap<>();
+        pools.put(TenantContext.DEFAULT_TENANT, pool(TenantContext.DEFAULT_TENANT, dataSourceProperties, binder, null));
+        if (tenantProperties.tenants() != null) {
+            tenantProperties.tenants().forEach((id, tenant) -> {
+                if (!TenantContext.DEFAULT_TENANT.equals(id)) {
+                    pools.put(id, pool(id, dataSourceProperties, binder, tenant.datasource()));
+                }
+            });
+        }
+        return new TenantRoutingDataSource(pools);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tenancy.enabled", havingValue = "true")
+    public FilterRegistrationBean<TenantResolutionFilter> tenantResolutionFilter(TenantRegistry tenantRegistry) {
+        FilterRegistrationBean<TenantResolutionFilter> registration =
+                new FilterRegistrationBean<>(new TenantResolutionFilter(tenantRegistry));
+        // Ahead of Spring Security (order -100), which loads users from the tenant's database
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static HikariDataSource pool(String tenantId, DataSourceProperties base, Binder binder,
+                                         TenantProperties.DataSource overrides) {
+        HikariDataSource pool = base.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        if (overrides != null) {
+            if (overrides.url() != null) {
+                pool.setJdbcUrl(overrides.url());
+            }
+            if (overrides.username() != null) {
+                pool.setUsername(overrides.username());
+            }
+            if (overrides.password() != null) {
+                pool.setPassword(overrides.password());
+            }
+            if (overrides.maximumPoolSize() != null) {
+                pool.setMaximumPoolSize(overrides.maximumPoolSize());
+            }
+        }
+        pool.setPoolName("tenant-" + tenantId);
+        return pool;
+    }
+}
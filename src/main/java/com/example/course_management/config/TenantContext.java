@@ -0,0 +1,69 @@
+package com.example.course_management.config;
+
+import java.util.function.Supplier;
+
+/**
+ * The institution (tenant) the current thread works for. Set per request by {@link TenantResolutionFilter},
+ * per job by {@link TenantRegistry#forEachTenant}, and carried onto executor threads by
+ * {@link AsyncConfig#tenantPropagation()}. Threads with no tenant work for {@link #DEFAULT_TENANT}, which is also
+ * the only tenant when tenancy is disabled.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Prefixes a cache key with the current tenant. In-process caches are shared by all tenants, and ids,
+     * emails and list names repeat across them.
+     */
+    public static String scoped(String key) {
+        return getTenantId() + ":" + key;
+    }
+
+    public static <T> T callAs(String tenantId, Supplier<T> task) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenantId);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runAs(String tenantId, Runnable task) {
+        callAs(tenantId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return a task that runs as the tenant current at wrapping time, whichever thread executes it
+     */
+    public static Runnable wrap(Runnable task) {
+        String tenantId = getTenantId();
+        return () -> runAs(tenantId, task);
+    }
+}
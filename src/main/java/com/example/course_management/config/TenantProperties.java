@@ -0,0 +1,31 @@
+package com.example.course_management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Institutions served by one deployment. Each tenant is resolved from the request {@code header} or from its
+ * {@code hosts}, and has its own connection pool: {@code datasource} overrides the url and credentials of
+ * {@code spring.datasource.*}, so a tenant can get its own schema on a shared server or its own server.
+ * <p>
+ * The {@code default} tenant always exists and uses {@code spring.datasource.*} itself; list it here only to
+ * give it hosts or a direction address. Requests matching no tenant are served by it.
+ */
+@ConfigurationProperties(prefix = "tenancy")
+public record TenantProperties(
+        @DefaultValue("false") boolean enabled,
+        // Takes precedence over the host; blank disables header resolution
+        @DefaultValue("X-Tenant-ID") String header,
+        Map<String, Tenant> tenants
+) {
+
+    public record Tenant(List<String> hosts, DataSource datasource, String directionEmail) {
+    }
+
+    // Pool size falls back to spring.datasource.hikari.maximum-pool-size
+    public record DataSource(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.course_management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lookup over {@link TenantProperties}. With tenancy disabled the only tenant is
+ * {@link TenantContext#DEFAULT_TENANT}, so callers never need to check whether tenancy is on.
+ */
+@Component
+public class TenantRegistry {
+
+    private final Logger logger = LoggerFactory.getLogger(TenantRegistry.class);
+
+    private final TenantProperties properties;
+    private final String defaultDirectionEmail;
+    private final List<String> tenantIds = new ArrayList<>();
+    private final Map<String, String> tenantByHost = new HashMap<>();
+
+    public TenantRegistry(TenantProperties properties, @Value("${direction.email}") String defaultDirectionEmail) {
+        this.properties = properties;
+        this.defaultDirectionEmail = defaultDirectionEmail;
+        tenantIds.add(TenantContext.DEFAULT_TENANT);
+        if (properties.enabled() && properties.tenants() != null) {
+            properties.tenants().forEach((id, tenant) -> {
+                if (!tenantIds.contains(id)) {
+                    tenantIds.add(id);
+                }
+                if (tenant.hosts() != null) {
+                    tenant.hosts().forEach(host -> tenantByHost.put(host.toLowerCase(Locale.ROOT), id));
+                }
+            });
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public String getHeader() {
+        return properties.header();
+    }
+
+    public List<String> getTenantIds() {
+        return List.copyOf(tenantIds);
+    }
+
+    public boolean exists(String tenantId) {
+        return tenantIds.contains(tenantId);
+    }
+
+    public Optional<String> findByHost(String host) {
+        return host == null ? Optional.empty() : Optional.ofNullable(tenantByHost.get(host.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * @return the current tenant's direction address, or {@code direction.email} if it has none
+     */
+    public String getDirectionEmail() {
+        TenantProperties.Tenant tenant = properties.enabled() && properties.tenants() != null
+                ? properties.tenants().get(TenantContext.getTenantId())
+                : null;
+        return tenant != null && tenant.directionEmail() != null ? tenant.directionEmail() : defaultDirectionEmail;
+    }
+
+    /**
+     * Runs a background job once per tenant, with that tenant current. A failing tenant (e.g. its database is
+     * down) is logged and skipped, so it does not hold up the others.
+     */
+    public void forEachTenant(Runnable task) {
+        for (String tenantId : tenantIds) {
+            try {
+                TenantContext.runAs(tenantId, task);
+            } catch (RuntimeException e) {
+                logger.error("Background job failed for tenant {}", tenantId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.course_management.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sets {@link TenantContext} for the request, from the tenant header if present, otherwise from the host name.
+ * Registered ahead of the security chain (see {@link TenancyConfig}), since authentication already reads the
+ * tenant's users. An unknown header value is rejected rather than served by the default tenant.
+ * <p>
+ * An HTTP session is bound to the tenant it was created under, so a session cookie cannot be replayed
+ * against another tenant by switching the header.
+ */
+public class TenantResolutionFilter extends OncePerRequestFilter {
+
+    static final String SESSION_TENANT_ATTRIBUTE = TenantResolutionFilter.class.getName() + ".TENANT";
+
+    private final TenantRegistry tenantRegistry;
+
+    public TenantResolutionFilter(TenantRegistry tenantRegistry) {
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = tenantRegistry.getHeader();
+        String requested = header != null && !header.isBlank() ? request.getHeader(header) : null;
+        String tenantId;
+        if (requested != null && !requested.isBlank()) {
+            if (!tenantRegistry.exists(requested)) {
+                reject(response, HttpStatus.BAD_REQUEST, "Unknown tenant");
+                return;
+            }
+            tenantId = requested;
+        } else {
+            tenantId = tenantRegistry.findByHost(request.getServerName()).orElse(TenantContext.DEFAULT_TENANT);
+        }
+
+        Object sessionTenant = sessionTenant(request);
+        if (sessionTenant != null && !sessionTenant.equals(tenantId)) {
+            reject(response, HttpStatus.FORBIDDEN, "Session belongs to another tenant");
+            return;
+        }
+
+        TenantContext.setTenantId(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+            // Binds a session created by this request, e.g. by a session-mode login
+            HttpSession session = request.getSession(false);
+            if (session != null && sessionTenant == null) {
+                session.setAttribute(SESSION_TENANT_ATTRIBUTE, tenantId);
+            }
+        }
+    }
+
+    private static Object sessionTenant(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null ? session.getAttribute(SESSION_TENANT_ATTRIBUTE) : null;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain");
+        response.getWriter().write(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.course_management.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the current tenant's pool. Connections are taken when a transaction begins, so
+ * the tenant must be set before that, which the request filter and {@link TenantRegistry#forEachTenant} do.
+ * A tenant without a pool fails instead of falling back to the default database.
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<String, DataSource> pools;
+
+    public TenantRoutingDataSource(Map<String, DataSource> pools) {
+        this.pools = Map.copyOf(pools);
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(TenantContext.DEFAULT_TENANT));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TenantContext.getTenantId();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource pool : pools.values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.course_management.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.relational.SchemaManager;
+import org.hibernate.tool.schema.Action;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies {@code spring.jpa.hibernate.ddl-auto} to every tenant database. Hibernate itself only manages the
+ * schema it sees at startup, which is the default tenant's. {@code update} is not supported here: tenants other
+ * than the default then need their schema migrated externally, as they do with {@code none}. With {@code validate},
+ * the schema scripts {@code spring.sql.init} runs against the default tenant are run against each tenant first.
+ */
+@Component
+@ConditionalOnProperty(name = "tenancy.enabled", havingValue = "true")
+public class TenantSchemaInitializer {
+
+    private final Logger logger = LoggerFactory.getLogger(TenantSchemaInitializer.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MappedMetadataHolder metadataHolder;
+    private final TenantRegistry tenantRegistry;
+    private final String ddlAuto;
+    private final DataSource dataSource;
+    private final ResourceLoader resourceLoader;
+    private final String sqlInitMode;
+    private final List<String> schemaLocations;
+
+    public TenantSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                   MappedMetadataHolder metadataHolder,
+                                   TenantRegistry tenantRegistry,
+                                   @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto,
+                                   DataSource dataSource,
+                                   ResourceLoader resourceLoader,
+                                   @Value("${spring.sql.init.mode:embedded}") String sqlInitMode,
+                                   @Value("${spring.sql.init.schema-locations:}") List<String> schemaLocations) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.metadataHolder = metadataHolder;
+        this.tenantRegistry = tenantRegistry;
+        this.ddlAuto = ddlAuto;
+        this.dataSource = dataSource;
+        this.resourceLoader = resourceLoader;
+        this.sqlInitMode = sqlInitMode;
+        this.schemaLocations = schemaLocations;
+    }
+
+    // Runs before schedulers and ApplicationReadyEvent listeners first query the tenants
+    @PostConstruct
+    public void initialize() {
+        SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+        for (String tenantId : tenantRegistry.getTenantIds()) {
+            if (TenantContext.DEFAULT_TENANT.equals(tenantId)) {
+                continue;
+            }
+            TenantContext.runAs(tenantId, () -> {
+                switch (ddlAuto) {
+                    case "create", "create-drop" -> {
+                        schemaManager.dropMappedObjects(false);
+                        schemaManager.exportMappedObjects(false);
+                    }
+                    case "validate" -> {
+                        applySchemaScripts();
+                        validate();
+                    }
+                    case "update" -> logger.warn("ddl-auto=update is not applied to tenant {}", tenantId);
+                    default -> {
+                    }
+                }
+            });
+        }
+    }
+
+    // The routing data source sends the scripts to the tenant bound by the caller
+    private void applySchemaScripts() {
+        if (!"always".equals(sqlInitMode) || schemaLocations.isEmpty()) {
+            return;
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        schemaLocations.forEach(location -> populator.addScript(resourceLoader.getResource(location)));
+        populator.execute(dataSource);
+    }
+
+    // SchemaManager.validateMappedObjects() looks tables up in the catalog Hibernate saw at startup, which is the
+    // default tenant's database; point the validator at the bound tenant's own catalog instead
+    private void validate() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Map<String, Object> settings = new HashMap<>(sessionFactory.getProperties());
+        settings.put(AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION, Action.VALIDATE);
+        settings.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_ACTION, Action.NONE);
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.getCatalog() != null) {
+                settings.put(AvailableSettings.DEFAULT_CATALOG, connection.getCatalog());
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the tenant's catalog", e);
+        }
+        SchemaManagementToolCoordinator.process(metadataHolder.getMetadata(), sessionFactory.getServiceRegistry(),
+                settings, action -> {
+                });
+    }
+}
@@ -1,23 +1,36 @@
 package com.example.course_management.controller;
 
 import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.dto.AuditEntryDTO;
+import com.example.course_management.dto.BulkInviteResultDTO;
+import com.example.course_management.dto.ChangeFeedDTO;
 import com.example.course_management.dto.CourseDTO;
 import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.ChangeLogEntry;
 import com.example.course_management.entity.Course;
 import com.example.course_management.entity.User;
+import com.example.course_management.exception.ResourceNotFoundException;
+import com.example.course_management.service.AbsenceRequestArchiveService;
 import com.example.course_management.service.AbsenceRequestService;
+import com.example.course_management.service.AuditJournalService;
+import com.example.course_management.service.ChangeFeedService;
 import com.example.course_management.service.CourseService;
 import com.example.course_management.service.AuthService;
 import com.example.course_management.service.EmailService;
+import com.example.course_management.service.RegistrationTokenService;
+import com.example.course_management.service.TeacherInviteService;
 import com.example.course_management.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -26,29 +39,79 @@ import java.util.UUID;
 public class AdminController {
 
     private final AbsenceRequestService absenceRequestService;
+    private final AbsenceRequestArchiveService absenceRequestArchiveService;
     private final CourseService courseService;
     private final AuthService authService;
     private final EmailService emailService;
     private final UserRepository userRepository;
+    private final RegistrationTokenService registrationTokenService;
+    private final TeacherInviteService teacherInviteService;
+    private final ChangeFeedService changeFeedService;
+    private final AuditJournalService auditJournalService;
 
     public AdminController(AbsenceRequestService absenceRequestService,
+                             AbsenceRequestArchiveService absenceRequestArchiveService,
                              CourseService courseService,
                              AuthService authService,
                              EmailService emailService,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             RegistrationTokenService registrationTokenService,
+                             TeacherInviteService teacherInviteService,
+                             ChangeFeedService changeFeedService,
+                             AuditJournalService auditJournalService) {
         this.absenceRequestService = absenceRequestService;
+        this.absenceRequestArchiveService = absenceRequestArchiveService;
         this.courseService = courseService;
         this.authService = authService;
         this.emailService = emailService;
         this.userRepository = userRepository;
+        this.registrationTokenService = registrationTokenService;
+        this.teacherInviteService = teacherInviteService;
+        this.changeFeedService = changeFeedService;
+        this.auditJournalService = auditJournalService;
     }
 
     // --- Absence Request Management ---
     @GetMapping("/absence-requests")
-    public ResponseEntity<List<AbsenceRequestDTO>> getAllAbsenceRequests() {
+    public ResponseEntity<List<?>> getAllAbsenceRequests(@RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(absenceRequestService.getAbsenceRequestFields(fields, null, null));
+        }
         return ResponseEntity.ok(absenceRequestService.getAllRequestsAsDTO());
     }
 
+    // Incremental sync: absence request inserts/updates/deletes after the cursor, oldest first.
+    // Archival shows up as a delete, since archived rows leave the live lists
+    @GetMapping("/absence-requests/changes")
+    public ResponseEntity<ChangeFeedDTO> getAbsenceRequestChanges(@RequestParam(defaultValue = "0") long since,
+                                                                  @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(ChangeLogEntry.EntityType.ABSENCE_REQUEST, since, limit));
+    }
+
+    // All requests submitted in the window, archived or not; defaults to the last year
+    @GetMapping("/absence-requests/history")
+    public ResponseEntity<List<AbsenceRequestDTO>> getAbsenceRequestHistory(
+            @RequestParam(required = false) Long teacherId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = (to != null) ? to : LocalDateTime.now();
+        LocalDateTime start = (from != null) ? from : end.minusYears(1);
+        return ResponseEntity.ok(absenceRequestArchiveService.getHistory(teacherId, start, end));
+    }
+
+    // Status transitions (who approved/rejected what, and when) from the audit journal; defaults to the last week
+    @GetMapping("/audit")
+    public ResponseEntity<List<AuditEntryDTO>> getAuditTrail(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) ChangeLogEntry.EntityType entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(defaultValue = "500") int limit) {
+        LocalDateTime end = (to != null) ? to : LocalDateTime.now();
+        LocalDateTime start = (from != null) ? from : end.minusWeeks(1);
+        return ResponseEntity.ok(auditJournalService.query(start, end, entityType, entityId, limit));
+    }
+
     @PutMapping("/absence-requests/{id}/approve")
     public ResponseEntity<String> approveAbsenceRequest(@PathVariable Long id) {
         AbsenceRequest approvedRequest = absenceRequestService.updateRequestStatus(id, "APPROVED");
@@ -129,9 +192,9 @@ public class AdminController {
         }
 
         try {
-            String token = UUID.randomUUID().toString();
-            authService.createTeacherInvite(email, fullName, token);
-            String inviteLink = "http://localhost:3000/complete-registration?token=" + token;
+            User invited = authService.createTeacherInvite(email, fullName);
+            String token = registrationTokenService.issue(invited.getId());
+            String inviteLink = teacherInviteService.inviteLink(token);
             emailService.sendInviteEmail(email, fullName, inviteLink);
             return ResponseEntity.ok("Invitation sent to " + email);
         } catch (RuntimeException e) {
@@ -141,6 +204,45 @@ public class AdminController {
         }
     }
 
+    // Bulk onboarding: JSON list of {email, fullName}, or text/csv with "email,fullName" lines.
+    // Returns a per-row report immediately; invite emails are delivered in the background.
+    @PostMapping(value = "/invite-teachers/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> inviteTeachersBulk(@RequestBody List<TeacherInviteService.InviteRow> rows) {
+        return bulkInvite(rows);
+    }
+
+    @PostMapping(value = "/invite-teachers/bulk", consumes = "text/csv")
+    public ResponseEntity<?> inviteTeachersBulkCsv(@RequestBody String csv) {
+        return bulkInvite(teacherInviteService.parseCsv(csv));
+    }
+
+    private ResponseEntity<?> bulkInvite(List<TeacherInviteService.InviteRow> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return ResponseEntity.badRequest().body("At least one teacher is required.");
+        }
+        try {
+            List<BulkInviteResultDTO> results = teacherInviteService.inviteTeachers(rows);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // Another request registered one of these emails meanwhile; nothing was inserted
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Some of these emails were registered concurrently; retry to see which.");
+        }
+    }
+
+    // --- User Management ---
+    @PutMapping("/users/{id}/deactivate")
+    public ResponseEntity<String> deactivateUser(@PathVariable Long id) {
+        try {
+            authService.deactivateUser(id);
+            return ResponseEntity.ok("User deactivated");
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     // --- Notification Helper Methods ---
     private void notifyTeacherAboutAbsenceApproval(AbsenceRequest request) {
         if (request.getTeacher() == null || request.getCourse() == null) return;
@@ -169,7 +271,10 @@ public class AdminController {
     }
 
     @GetMapping("/courses")
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
+    public ResponseEntity<List<?>> getAllCourses(@RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(courseService.getCourseFields(fields, null, null));
+        }
         return ResponseEntity.ok(courseService.getAllCourses());
     }
 
@@ -1,9 +1,23 @@
 package com.example.course_management.controller;
 
+import com.example.course_management.config.SecurityConfig;
 import com.example.course_management.entity.User;
+import com.example.course_management.exception.ResourceNotFoundException;
+import com.example.course_management.exception.ServiceOverloadedException;
 import com.example.course_management.repository.UserRepository;
+import com.example.course_management.service.AuthService;
+import com.example.course_management.service.JwtService;
+import com.example.course_management.service.PasswordHashingService;
+import com.example.course_management.service.RegistrationTokenService;
+import com.example.course_management.service.UserExistenceFilter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -20,9 +34,26 @@ import java.util.Collections;
 public class AuthController {
 
     private final UserRepository userRepository;
-
-    public AuthController(UserRepository userRepository) {
+    private final JwtService jwtService;
+    private final PasswordHashingService passwordHashingService;
+    private final UserExistenceFilter userExistenceFilter;
+    private final RegistrationTokenService registrationTokenService;
+    private final AuthService authService;
+
+    @Value("${auth.mode:session}")
+    private String authMode;
+
+    public AuthController(UserRepository userRepository, JwtService jwtService,
+                          PasswordHashingService passwordHashingService,
+                          UserExistenceFilter userExistenceFilter,
+                          RegistrationTokenService registrationTokenService,
+                          AuthService authService) {
         this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.passwordHashingService = passwordHashingService;
+        this.userExistenceFilter = userExistenceFilter;
+        this.registrationTokenService = registrationTokenService;
+        this.authService = authService;
     }
 
     @PostMapping("/login")
@@ -35,12 +66,36 @@ public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletReq
 
     User user = userOpt.get();
 
-    if (!user.getPassword().equals(request.password())) {
-        return ResponseEntity.status(401).body("Invalid credentials");
+    try {
+        // Hashing runs on the bounded password pool; a saturated pool answers 503 straight away
+        if (!passwordHashingService.matches(request.password(), user.getPassword())) {
+            return ResponseEntity.status(401).body("Invalid credentials");
+        }
+
+        if (!user.isActivated()) {
+            return ResponseEntity.status(403).body("Account not activated");
+        }
+
+        // Transparently upgrade legacy plaintext rows (and outdated cost factors) to the current hash
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(request.password()));
+            userRepository.save(user);
+        }
+    } catch (ServiceOverloadedException e) {
+        return overloaded(e);
     }
 
-    if (!user.isActivated()) {
-        return ResponseEntity.status(403).body("Account not activated");
+    if (SecurityConfig.AUTH_MODE_JWT.equals(authMode)) {
+        return ResponseEntity.ok(Map.of(
+            "message", "Login successful",
+            "tokens", issueTokens(user),
+            "user", Map.of(
+                "id", user.getId(),
+                "username", user.getUsername(),
+                "email", user.getEmail(),
+                "role", user.getRole()
+            )
+        ));
     }
 
     // Create session and store user details
@@ -68,19 +123,29 @@ public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletReq
         
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
-        if (userRepository.existsByEmail(request.email()) ||
-                userRepository.existsByUsername(request.username())) {
+        // Only definite-negative checks are skipped; possible hits still go to the DB
+        if ((userExistenceFilter.mightContainEmail(request.email()) && userRepository.existsByEmail(request.email())) ||
+                (userExistenceFilter.mightContainUsername(request.username()) && userRepository.existsByUsername(request.username()))) {
             return ResponseEntity.badRequest().body("Username or email already exists");
         }
 
         User user = new User();
         user.setUsername(request.username());
         user.setEmail(request.email());
-        user.setPassword(request.password()); // Storing plain text password
+        try {
+            user.setPassword(passwordHashingService.encode(request.password()));
+        } catch (ServiceOverloadedException e) {
+            return overloaded(e);
+        }
         user.setRole(request.role());
         user.setActivated(true);
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent registration of the same username or email
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Username or email already exists");
+        }
 
         return ResponseEntity.ok(Map.of(
                 "message", "Registration successful",
@@ -91,8 +156,73 @@ public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletReq
                 )
         ));
     }
+
+    // Invited teachers set their password here; the signed token is checked before any query or hashing
+    @PostMapping("/complete-registration")
+    public ResponseEntity<?> completeRegistration(@RequestBody CompleteRegistrationRequest request) {
+        Optional<Long> userId = registrationTokenService.verify(request.token());
+        if (userId.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid or expired registration token");
+        }
+        if (request.password() == null || request.password().isBlank()) {
+            return ResponseEntity.badRequest().body("Password is required");
+        }
+
+        try {
+            User user = authService.completeTeacherRegistration(userId.get(), passwordHashingService.encode(request.password()));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Registration completed",
+                    "user", Map.of(
+                            "id", user.getId(),
+                            "email", user.getEmail()
+                    )
+            ));
+        } catch (ServiceOverloadedException e) {
+            return overloaded(e);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        }
+    }
+
+    // Exchanges a valid refresh token for a new access/refresh pair (the old refresh token is simply superseded).
+    // This is the only token path that reads the DB, so deactivated users and role changes take effect here.
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        Claims claims;
+        try {
+            claims = jwtService.parse(request.refreshToken(), JwtService.TOKEN_TYPE_REFRESH);
+        } catch (JwtException | IllegalArgumentException e) {
+            return ResponseEntity.status(401).body("Invalid refresh token");
+        }
+
+        Optional<User> userOpt = userRepository.findById(jwtService.getUserId(claims));
+        if (userOpt.isEmpty() || !userOpt.get().isActivated()) {
+            return ResponseEntity.status(401).body("Invalid refresh token");
+        }
+
+        return ResponseEntity.ok(Map.of("tokens", issueTokens(userOpt.get())));
+    }
+
+    private ResponseEntity<String> overloaded(ServiceOverloadedException e) {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    private Map<String, Object> issueTokens(User user) {
+        return Map.of(
+            "tokenType", "Bearer",
+            "accessToken", jwtService.issueAccessToken(user),
+            "expiresIn", jwtService.getAccessTokenTtlSeconds(),
+            "refreshToken", jwtService.issueRefreshToken(user)
+        );
+    }
 }
 
 // Simple DTO classes
 record LoginRequest(String username, String password) {}
+record RefreshRequest(String refreshToken) {}
+record CompleteRegistrationRequest(String token, String password) {}
 record RegisterRequest(String username, String email, String password, String role) {}
\ No newline at end of file
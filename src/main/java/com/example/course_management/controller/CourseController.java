@@ -1,9 +1,17 @@
 package com.example.course_management.controller;
 
+import com.example.course_management.dto.ChangeFeedDTO;
 import com.example.course_management.dto.CourseDTO;
+import com.example.course_management.entity.ChangeLogEntry;
 import com.example.course_management.entity.Course;
+import com.example.course_management.service.ChangeFeedService;
+import com.example.course_management.service.CollectionVersionService;
 import com.example.course_management.service.CourseService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
 import java.util.List;
 
 @RestController
@@ -11,14 +19,29 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class CourseController {
     private final CourseService courseService;
+    private final JsonResponseCache jsonResponseCache;
+    private final ChangeFeedService changeFeedService;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, JsonResponseCache jsonResponseCache,
+                            ChangeFeedService changeFeedService) {
         this.courseService = courseService;
+        this.jsonResponseCache = jsonResponseCache;
+        this.changeFeedService = changeFeedService;
     }
 
+    // Polled constantly: 304 from the collection version, otherwise pre-serialized bytes
+    // fields=id,courseName,status narrows both the SELECT and the JSON
     @GetMapping
-    public List<CourseDTO> getAllCourses() {
-        return courseService.getAllCourses();
+    public ResponseEntity<byte[]> getAllCourses(@RequestParam(required = false) List<String> fields, WebRequest request) {
+        return jsonResponseCache.respond(request, JsonResponseCache.variant("courses", fields), CollectionVersionService.Collection.COURSES,
+                CacheControl.noCache(), () -> fields == null ? courseService.getAllCourses() : courseService.getCourseFields(fields, null, null));
+    }
+
+    // Incremental sync: course inserts/updates/deletes after the cursor, oldest first
+    @GetMapping("/changes")
+    public ChangeFeedDTO getChanges(@RequestParam(defaultValue = "0") long since,
+                                    @RequestParam(defaultValue = "500") int limit) {
+        return changeFeedService.getChanges(ChangeLogEntry.EntityType.COURSE, since, limit);
     }
 
     @GetMapping("/{id}")
@@ -44,12 +67,16 @@ public class CourseController {
     }
 
     @GetMapping("/approved")
-    public List<CourseDTO> getApprovedCourses() {
-        return courseService.getApprovedCourses();
+    public ResponseEntity<byte[]> getApprovedCourses(@RequestParam(required = false) List<String> fields, WebRequest request) {
+        return jsonResponseCache.respond(request, JsonResponseCache.variant("courses-approved", fields), CollectionVersionService.Collection.COURSES,
+                CacheControl.noCache(), () -> fields == null ? courseService.getApprovedCourses() : courseService.getCourseFields(fields, null, "APPROVED"));
     }
 
     @GetMapping("/teacher/{teacherId}")
-    public List<CourseDTO> getCoursesByTeacher(@PathVariable Long teacherId) {
+    public List<?> getCoursesByTeacher(@PathVariable Long teacherId, @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return courseService.getCourseFields(fields, teacherId, null);
+        }
         return courseService.getCoursesByTeacher(teacherId);
     }
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package com.example.course_management.controller;
 import com.example.course_management.dto.AbsenceRequestDTO;
 import com.example.course_management.dto.CourseDTO;
 import com.example.course_management.service.AbsenceRequestService;
+import com.example.course_management.service.CollectionVersionService;
 import com.example.course_management.service.CourseService;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,28 +19,40 @@ import java.util.List;
 public class DirectionController {
     private final CourseService courseService;
     private final AbsenceRequestService absenceRequestService;
+    private final JsonResponseCache jsonResponseCache;
 
     public DirectionController(CourseService courseService,
-                                 AbsenceRequestService absenceRequestService) {
+                                 AbsenceRequestService absenceRequestService,
+                                 JsonResponseCache jsonResponseCache) {
         this.courseService = courseService;
         this.absenceRequestService = absenceRequestService;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
+    // Polled constantly: 304 from the collection version, otherwise pre-serialized bytes
     @GetMapping("/approved-courses")
-    public List<CourseDTO> getApprovedCourses() {
-        return courseService.getApprovedCourses();
+    public ResponseEntity<byte[]> getApprovedCourses(@RequestParam(required = false) List<String> fields, WebRequest request) {
+        return jsonResponseCache.respond(request, JsonResponseCache.variant("direction-approved-courses", fields), CollectionVersionService.Collection.COURSES,
+                CacheControl.noCache().cachePrivate(),
+                () -> fields == null ? courseService.getApprovedCourses() : courseService.getCourseFields(fields, null, "APPROVED"));
     }
 
     @GetMapping("/approved-absences")
-    public List<AbsenceRequestDTO> getApprovedAbsences() {
-        return absenceRequestService.getApprovedAbsenceRequests();
+    public ResponseEntity<byte[]> getApprovedAbsences(@RequestParam(required = false) List<String> fields, WebRequest request) {
+        return jsonResponseCache.respond(request, JsonResponseCache.variant("direction-approved-absences", fields), CollectionVersionService.Collection.ABSENCE_REQUESTS,
+                CacheControl.noCache().cachePrivate(),
+                () -> fields == null ? absenceRequestService.getApprovedAbsenceRequests() : absenceRequestService.getAbsenceRequestFields(fields, null, "APPROVED"));
     }
      /**
       * @param teacherId The ID of the teacher whose absence requests are to be fetched.
       * @return A list of absence request DTOs for the specified teacher.
       */
       @GetMapping("/teachers/{teacherId}/absence-requests")
-      public ResponseEntity<List<AbsenceRequestDTO>> getAbsenceRequestsByTeacher(@PathVariable Long teacherId) {
+      public ResponseEntity<List<?>> getAbsenceRequestsByTeacher(@PathVariable Long teacherId,
+                                                                 @RequestParam(required = false) List<String> fields) {
+          if (fields != null) {
+              return ResponseEntity.ok(absenceRequestService.getAbsenceRequestFields(fields, teacherId, null));
+          }
           List<AbsenceRequestDTO> requests = absenceRequestService.getAbsenceRequestsByTeacher(teacherId); // Use the existing method
           return ResponseEntity.ok(requests);
       }
@@ -49,7 +64,11 @@ public class DirectionController {
      * @return A list of course DTOs for the specified teacher.
      */
     @GetMapping("/teachers/{teacherId}/courses")
-    public ResponseEntity<List<CourseDTO>> getCoursesByTeacher(@PathVariable Long teacherId) {
+    public ResponseEntity<List<?>> getCoursesByTeacher(@PathVariable Long teacherId,
+                                                       @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(courseService.getCourseFields(fields, teacherId, null));
+        }
         List<CourseDTO> courses = courseService.getCoursesByTeacher(teacherId); // Use the existing method
         return ResponseEntity.ok(courses);
     }
@@ -0,0 +1,141 @@
+package com.example.course_management.controller;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.service.CollectionVersionService;
+import com.example.course_management.util.ExpiringCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves hot list endpoints from pre-serialized JSON bytes.
+ * <p>
+ * Entries are keyed by the collection ETag, so a course or absence request write (which bumps the
+ * collection version) makes every older entry unreachable; they then age out through LRU/TTL.
+ * A hit is returned as a {@code byte[]} body, which the byte array converter copies straight to the
+ * servlet output stream without going through Jackson again.
+ * <p>
+ * Clients that accept gzip get their own ETag, since a strong ETag must not be shared by the plain and the
+ * compressed representation.
+ */
+@Component
+public class JsonResponseCache {
+
+    private record CachedBody(byte[] json, byte[] gzip) {
+    }
+
+    private final CollectionVersionService collectionVersionService;
+    private final ObjectMapper objectMapper;
+    private final ExpiringCache<String, CachedBody> cache;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+
+    public JsonResponseCache(CollectionVersionService collectionVersionService,
+                             ObjectMapper objectMapper,
+                             @Value("${response-cache.ttl:10m}") Duration ttl,
+                             @Value("${response-cache.max-entries:64}") int maxEntries,
+                             @Value("${response-cache.gzip.enabled:true}") boolean gzipEnabled,
+                             @Value("${response-cache.gzip.min-bytes:1024}") int gzipMinBytes) {
+        this.collectionVersionService = collectionVersionService;
+        this.objectMapper = objectMapper;
+        this.cache = new ExpiringCache<>(ttl, maxEntries);
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Answers a conditional GET from the collection version, otherwise returns the cached bytes,
+     * serializing the loader's result only on a miss.
+     *
+     * @param variant identifies the endpoint and filter, so different lists never share an entry
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request,
+                                          String variant,
+                                          CollectionVersionService.Collection collection,
+                                          CacheControl cacheControl,
+                                          Supplier<?> loader) {
+        // Tenant-scoped, so neither a cached body nor a 304 ever crosses tenants
+        String key = collectionVersionService.etag(TenantContext.scoped(variant), collection);
+        boolean gzip = gzipEnabled && acceptsGzip(request);
+        String etag = gzip ? key.substring(0, key.length() - 1) + "-gzip\"" : key;
+        if (request.checkNotModified(etag)) {
+            ResponseEntity.HeadersBuilder<?> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag);
+            if (gzipEnabled) {
+                notModified.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            return notModified.build();
+        }
+
+        CachedBody body = cache.getOrLoad(key, k -> serialize(loader.get()));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzipEnabled) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        // Small bodies are sent plain even under the gzip ETag; it still identifies them unambiguously
+        if (gzip && body.gzip() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    /**
+     * Cache variant for a list endpoint, including its sparse fieldset so each field selection gets its own entry.
+     */
+    public static String variant(String endpoint, List<String> fields) {
+        if (fields == null) {
+            return endpoint;
+        }
+        return endpoint + "?fields=" + fields.stream().map(String::trim).sorted().distinct().collect(Collectors.joining(","));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private CachedBody serialize(Object value) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+        // Small bodies are not worth the gzip header overhead
+        byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+        return new CachedBody(json, gzip);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
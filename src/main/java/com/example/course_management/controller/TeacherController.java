@@ -1,21 +1,40 @@
 package com.example.course_management.controller;
 
+import com.example.course_management.config.SecurityConfig;
+import com.example.course_management.dto.AbsenceSubmissionDTO;
+import com.example.course_management.dto.AuthenticatedPrincipal;
 import com.example.course_management.dto.CourseDTO;
+import com.example.course_management.dto.TeacherDashboardDTO;
 import com.example.course_management.entity.Course;
 import com.example.course_management.entity.User;
+import com.example.course_management.exception.ResourceNotFoundException;
+import com.example.course_management.exception.ServiceOverloadedException;
+import com.example.course_management.exception.SubmissionPendingException;
+import com.example.course_management.service.AbsenceIngestionService;
 import com.example.course_management.service.CourseService;
+import com.example.course_management.service.JwtService;
+import com.example.course_management.service.PrincipalCacheService;
+import com.example.course_management.service.TeacherDashboardService;
+import com.example.course_management.service.TeacherEventService;
 import com.example.course_management.service.AbsenceRequestService; // Import AbsenceRequestService
 import com.example.course_management.dto.AbsenceRequestDTO; // Import AbsenceRequestDTO
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/teacher")
@@ -24,15 +43,33 @@ public class TeacherController {
 
     private final CourseService courseService;
     private final AbsenceRequestService absenceRequestService; // Inject AbsenceRequestService
+    private final PrincipalCacheService principalCacheService;
+    private final TeacherEventService teacherEventService;
+    private final TeacherDashboardService teacherDashboardService;
+    private final AbsenceIngestionService absenceIngestionService;
+    private final JwtService jwtService;
+
+    @Value("${auth.mode:session}")
+    private String authMode;
 
     @Autowired
-    public TeacherController(CourseService courseService, AbsenceRequestService absenceRequestService) { // Add to constructor
+    public TeacherController(CourseService courseService, AbsenceRequestService absenceRequestService,
+                             PrincipalCacheService principalCacheService,
+                             TeacherEventService teacherEventService,
+                             TeacherDashboardService teacherDashboardService,
+                             AbsenceIngestionService absenceIngestionService,
+                             JwtService jwtService) { // Add to constructor
         this.courseService = courseService;
         this.absenceRequestService = absenceRequestService; // Assign
+        this.principalCacheService = principalCacheService;
+        this.teacherEventService = teacherEventService;
+        this.teacherDashboardService = teacherDashboardService;
+        this.absenceIngestionService = absenceIngestionService;
+        this.jwtService = jwtService;
     }
 
-    // Helper method remains the same
-    private User getAuthenticatedTeacher() {
+    // Resolves the caller through the principal cache, so most requests skip the users-table lookup
+    private AuthenticatedPrincipal getAuthenticatedTeacher() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -51,11 +88,11 @@ public class TeacherController {
             throw new AccessDeniedException("Could not retrieve user details from principal");
         }
 
-        User teacher = courseService.getUserByEmail(username);
+        AuthenticatedPrincipal teacher = principalCacheService.resolve(username);
 
         if (teacher == null) {
-             System.err.println("Authenticated principal's email found (" + username + "), but User entity not found in database.");
-             throw new AccessDeniedException("Could not find user details for authenticated principal");
+             System.err.println("Authenticated principal's email found (" + username + "), but no active User entity in database.");
+             throw new AccessDeniedException("Could not find an active user for authenticated principal");
         }
 
          if (!authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_TEACHER"))) {
@@ -65,18 +102,39 @@ public class TeacherController {
         return teacher;
     }
 
+    /**
+     * Courses, pending makeup proposals and absence requests in one round trip; the principal is resolved
+     * once and the three queries run in parallel.
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> getDashboard() {
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher();
+        try {
+            TeacherDashboardDTO dashboard = teacherDashboardService.getDashboard(teacher.id());
+            return ResponseEntity.ok(dashboard);
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        }
+    }
+
     // Existing Course endpoints...
 
     @GetMapping("/courses")
-    public List<CourseDTO> getCourses() {
-        User teacher = getAuthenticatedTeacher();
-        Long teacherId = teacher.getId();
+    public List<?> getCourses(@RequestParam(required = false) List<String> fields) {
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher();
+        Long teacherId = teacher.id();
+        if (fields != null) {
+            return courseService.getCourseFields(fields, teacherId, null);
+        }
         return courseService.getCoursesByTeacher(teacherId);
     }
 
     @PostMapping("/makeup-course")
     public ResponseEntity<CourseDTO> proposeMakeupCourse(@RequestBody CourseDTO courseDTO) {
-        User teacher = getAuthenticatedTeacher();
+        AuthenticatedPrincipal principal = getAuthenticatedTeacher();
+        User teacher = courseService.getUserById(principal.id());
         Course course = new Course();
         course.setCourseName(courseDTO.getCourseName());
         course.setName(courseDTO.getCourseName()); // Assuming 'name' is a property in Course
@@ -89,16 +147,16 @@ public class TeacherController {
 
     @GetMapping("/makeup-proposals/pending")
     public ResponseEntity<List<CourseDTO>> getPendingAdminMakeupProposals() {
-        User teacher = getAuthenticatedTeacher();
-        Long teacherId = teacher.getId();
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher();
+        Long teacherId = teacher.id();
         List<CourseDTO> pendingCourses = courseService.getPendingTeacherApprovalCourses(teacherId);
         return ResponseEntity.ok(pendingCourses);
     }
 
     @PutMapping("/makeup-proposals/{courseId}/approve")
     public ResponseEntity<CourseDTO> approveAdminMakeupProposal(@PathVariable Long courseId) {
-        User teacher = getAuthenticatedTeacher();
-        Long teacherId = teacher.getId();
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher();
+        Long teacherId = teacher.id();
         try {
             CourseDTO approvedCourse = courseService.approveAdminProposedMakeup(courseId, teacherId);
             return ResponseEntity.ok(approvedCourse);
@@ -110,8 +168,8 @@ public class TeacherController {
 
     @PutMapping("/makeup-proposals/{courseId}/reject")
     public ResponseEntity<CourseDTO> rejectAdminMakeupProposal(@PathVariable Long courseId) {
-        User teacher = getAuthenticatedTeacher();
-        Long teacherId = teacher.getId();
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher();
+        Long teacherId = teacher.id();
         try {
             CourseDTO rejectedCourse = courseService.rejectAdminProposedMakeup(courseId, teacherId);
             return ResponseEntity.ok(rejectedCourse);
@@ -124,19 +182,94 @@ public class TeacherController {
     // **New Absence Request Endpoints**
 
     @GetMapping("/absence-requests")
-    public ResponseEntity<List<AbsenceRequestDTO>> getAllAbsenceRequestsForTeacher() {
-        User teacher = getAuthenticatedTeacher(); // Get the authenticated teacher
-        Long teacherId = teacher.getId();
+    public ResponseEntity<List<?>> getAllAbsenceRequestsForTeacher(@RequestParam(required = false) List<String> fields) {
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher(); // Get the authenticated teacher
+        Long teacherId = teacher.id();
+        if (fields != null) {
+            return ResponseEntity.ok(absenceRequestService.getAbsenceRequestFields(fields, teacherId, null));
+        }
         List<AbsenceRequestDTO> absenceRequests = absenceRequestService.getAbsenceRequestsByTeacher(teacherId);
         return ResponseEntity.ok(absenceRequests);
     }
 
+    /**
+     * Submits an absence request for one of the caller's courses. Submissions are group-committed by
+     * {@link AbsenceIngestionService}; the response carries the committed id. If the commit is slow the answer
+     * is 202 with a {@code Location} to poll rather than an error, since the submission will still go through.
+     */
+    @PostMapping("/absence-requests")
+    public ResponseEntity<?> submitAbsenceRequest(@RequestBody AbsenceRequestDTO requestDTO) {
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher();
+        if (requestDTO.getCourseId() == null) {
+            return ResponseEntity.badRequest().body("courseId is required");
+        }
+        try {
+            AbsenceRequestDTO submitted = absenceIngestionService.submit(teacher.id(), teacher.fullName(),
+                    requestDTO.getCourseId(), requestDTO.getJustification());
+            return ResponseEntity.status(HttpStatus.CREATED).body(submitted);
+        } catch (SubmissionPendingException e) {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/teacher/absence-requests/submissions/" + e.getTicket()))
+                    .body(new AbsenceSubmissionDTO(e.getTicket(), "PENDING", null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/absence-requests/submissions/{ticket}")
+    public ResponseEntity<?> getAbsenceSubmission(@PathVariable String ticket) {
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher();
+        try {
+            return ResponseEntity.ok(absenceIngestionService.getSubmission(teacher.id(), ticket));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/absence-requests/status/{status}")
     public ResponseEntity<List<AbsenceRequestDTO>> getAbsenceRequestsForTeacherByStatus(@PathVariable String status) {
-        User teacher = getAuthenticatedTeacher(); // Get the authenticated teacher
-        Long teacherId = teacher.getId();
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher(); // Get the authenticated teacher
+        Long teacherId = teacher.id();
         // You might want to validate the 'status' parameter here
         List<AbsenceRequestDTO> absenceRequests = absenceRequestService.getAbsenceRequestsByTeacherAndStatus(teacherId, status.toUpperCase()); // Convert status to uppercase to match entity enum/string
         return ResponseEntity.ok(absenceRequests);
     }
-}
\ No newline at end of file
+
+    /**
+     * Server-Sent Events stream for the authenticated teacher, replacing polling of
+     * {@code /makeup-proposals/pending} and {@code /absence-requests}.
+     * Emits {@code makeup-proposal} and {@code absence-request-status} events carrying {@code {id, status}}.
+     * In jwt mode a browser's EventSource cannot send the bearer token: connect with {@code ?ticket=} from
+     * {@code POST /events/ticket} instead (a fetch-based client can keep using the header).
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents() {
+        AuthenticatedPrincipal teacher = getAuthenticatedTeacher();
+        SseEmitter emitter = teacherEventService.subscribe(teacher.id());
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // Stops nginx from buffering the stream
+                .body(emitter);
+    }
+
+    /**
+     * Short-lived ticket for {@code GET /events?ticket=...} in jwt mode; open the stream right after fetching it.
+     * Session mode has no use for one, since EventSource sends the session cookie.
+     */
+    @PostMapping("/events/ticket")
+    public ResponseEntity<Map<String, Object>> issueEventStreamTicket() {
+        if (!SecurityConfig.AUTH_MODE_JWT.equals(authMode)) {
+            return ResponseEntity.notFound().build();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(Map.of(
+                "ticket", jwtService.issueStreamTicket(authentication),
+                "expiresIn", jwtService.getStreamTicketTtlSeconds()));
+    }
+}
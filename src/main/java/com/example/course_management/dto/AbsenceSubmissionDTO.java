@@ -0,0 +1,10 @@
+package com.example.course_management.dto;
+
+/**
+ * Outcome of an absence submission that did not commit within its request.
+ *
+ * @param status  {@code PENDING}, {@code COMMITTED} or {@code FAILED}
+ * @param request the committed request, once {@code COMMITTED}
+ */
+public record AbsenceSubmissionDTO(String ticket, String status, AbsenceRequestDTO request) {
+}
@@ -0,0 +1,15 @@
+package com.example.course_management.dto;
+
+import com.example.course_management.entity.ChangeLogEntry;
+import com.example.course_management.event.ChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One status transition from the audit journal. {@code actor} is the authenticated user who made it, null for
+ * background jobs; {@code oldStatus} is null for creations, {@code newStatus} for deletions.
+ */
+public record AuditEntryDTO(LocalDateTime timestamp, String tenantId, ChangeLogEntry.EntityType entityType, Long entityId,
+                            ChangeType changeType, String oldStatus, String newStatus, Long teacherId,
+                            Long actorId, String actor) {
+}
@@ -0,0 +1,8 @@
+package com.example.course_management.dto;
+
+/**
+ * The parts of an authenticated {@code User} that request handlers need, cached by email
+ * so controllers can resolve the caller without a users-table query.
+ */
+public record AuthenticatedPrincipal(Long id, String email, String role, String fullName) {
+}
@@ -0,0 +1,15 @@
+package com.example.course_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInviteResultDTO {
+    private int row; // 1-based position in the submitted list/CSV
+    private String email;
+    private String status; // INVITED, DUPLICATE or INVALID
+    private String message;
+}
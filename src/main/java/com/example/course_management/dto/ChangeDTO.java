@@ -0,0 +1,11 @@
+package com.example.course_management.dto;
+
+import com.example.course_management.event.ChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change feed entry; {@code cursor} is the value to pass as {@code since} to continue after it.
+ */
+public record ChangeDTO(Long cursor, Long id, ChangeType changeType, Long teacherId, String status, LocalDateTime changedAt) {
+}
@@ -0,0 +1,14 @@
+package com.example.course_management.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed.
+ *
+ * @param nextCursor     pass as {@code since} on the next call (unchanged when there is nothing new)
+ * @param hasMore        another page is already available
+ * @param resyncRequired the {@code since} cursor is older than the retained log; reload the full list, then
+ *                       continue from {@code nextCursor}
+ */
+public record ChangeFeedDTO(List<ChangeDTO> changes, long nextCursor, boolean hasMore, boolean resyncRequired) {
+}
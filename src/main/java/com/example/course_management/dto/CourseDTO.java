@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class CourseDTO {
-    private int id;
+    private Long id;
     private String courseName;
     private Long teacherId;
     private String teacherName;
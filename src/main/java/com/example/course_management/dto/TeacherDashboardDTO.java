@@ -0,0 +1,11 @@
+package com.example.course_management.dto;
+
+import java.util.List;
+
+/**
+ * Everything the teacher frontend loads on page open, in one response.
+ */
+public record TeacherDashboardDTO(List<CourseDTO> courses,
+                                  List<CourseDTO> pendingMakeupProposals,
+                                  List<AbsenceRequestDTO> absenceRequests) {
+}
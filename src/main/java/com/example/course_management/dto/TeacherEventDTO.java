@@ -0,0 +1,8 @@
+package com.example.course_management.dto;
+
+/**
+ * Payload of a teacher SSE event. Carries only identifiers and the new status;
+ * the client re-fetches the affected list when it needs the full data.
+ */
+public record TeacherEventDTO(Long id, String status) {
+}
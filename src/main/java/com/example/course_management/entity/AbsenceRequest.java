@@ -9,7 +9,12 @@ import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "absence_requests")
+// Hot queries filter by teacher/status; the submitted_at indexes keep them (and the archival sweep) on recent rows only
+@Table(name = "absence_requests", indexes = {
+        @Index(name = "idx_absence_requests_submitted_at", columnList = "submitted_at"),
+        @Index(name = "idx_absence_requests_teacher_submitted", columnList = "teacher_id, submitted_at"),
+        @Index(name = "idx_absence_requests_status_submitted", columnList = "status, submitted_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,45 @@
+package com.example.course_management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Closed (APPROVED/REJECTED) absence request moved out of the hot {@code absence_requests} table.
+ * Teacher and course are denormalised so history reads never join back to users/courses.
+ */
+@Entity
+@Table(name = "absence_requests_archive", indexes = {
+        @Index(name = "idx_absence_archive_submitted_at", columnList = "submitted_at"),
+        @Index(name = "idx_absence_archive_teacher_submitted", columnList = "teacher_id, submitted_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAbsenceRequest {
+    // Same id as the original row, so references from emails/logs stay valid
+    @Id
+    private Long id;
+
+    @Column(name = "teacher_id", nullable = false)
+    private Long teacherId;
+
+    private String teacherName;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    private String courseName;
+
+    private String justification;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
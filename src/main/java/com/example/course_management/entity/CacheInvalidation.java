@@ -0,0 +1,47 @@
+package com.example.course_management.entity;
+
+import com.example.course_management.event.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * One committed write that other instances must evict from their in-process caches. Rows are appended with
+ * plain JDBC in the writing transaction and polled in id order; they only need to live a little longer than the
+ * poll interval.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+        @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    public enum EntityType { COURSE, ABSENCE_REQUEST, USER }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private EntityType entityType;
+
+    // Null when the whole collection is invalidated
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    // Instance that made the change; it has already evicted its own caches
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
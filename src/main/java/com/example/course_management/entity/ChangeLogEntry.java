@@ -0,0 +1,52 @@
+package com.example.course_management.entity;
+
+import com.example.course_management.event.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of one course or absence request write, inserted in the writing transaction.
+ * The generated id is the feed cursor: entries are read strictly in id order.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_entity_type_id", columnList = "entity_type, id"),
+        @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+
+    public enum EntityType { COURSE, ABSENCE_REQUEST }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(name = "teacher_id")
+    private Long teacherId;
+
+    // Status after the change; null for deletions
+    private String status;
+
+    // Stamped by the database in the insert, so every instance's entries share one clock
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
@@ -2,6 +2,7 @@ package com.example.course_management.entity;
 
 // ... other imports ...
 
+import com.example.course_management.event.UserEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -21,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties; // <--- This impor
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@EntityListeners(UserEntityListener.class)
 // Implement UserDetails interface
 public class User implements UserDetails {
     @Id
@@ -40,8 +42,9 @@ public class User implements UserDetails {
 
     // Additional profile fields
     private String fullName;
+    // Unique in the database: the Bloom filter only rules out duplicates this instance has seen
+    @Column(unique = true)
     private String email; // This should ideally be the same as 'username' for login
-    private String registrationToken; // Keep this for the invite flow
 
     // Map to isEnabled()
     private boolean isActivated = false; // Invited users are not activated initially
@@ -103,4 +106,9 @@ public class User implements UserDetails {
     public String getRole() {
         return role;
     }
+
+    // Raw username column; getUsername() returns the email because that is what Spring Security logs in with
+    public String getAccountUsername() {
+        return username;
+    }
 }
\ No newline at end of file
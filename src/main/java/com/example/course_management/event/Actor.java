@@ -0,0 +1,26 @@
+package com.example.course_management.event;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Who caused a change. Captured where the change event is published, since listeners running after commit or
+ * on another thread can no longer read it from the security context. {@code id} is null for system actors.
+ */
+public record Actor(Long id, String name) {
+
+    /** Scheduled work with no user behind it, e.g. the archival job. */
+    public static Actor system(String name) {
+        return new Actor(null, name);
+    }
+
+    /** The authenticated user of the calling thread, or null if there is none. */
+    public static Actor current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return new Actor(authentication.getDetails() instanceof Long id ? id : null, authentication.getName());
+    }
+}
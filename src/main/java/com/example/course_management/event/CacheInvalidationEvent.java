@@ -0,0 +1,11 @@
+package com.example.course_management.event;
+
+import com.example.course_management.entity.CacheInvalidation;
+
+/**
+ * Published by {@code CacheInvalidationService} for a write committed by another instance, outside any
+ * transaction. Local writes keep arriving as {@link CourseChangedEvent}, {@link AbsenceRequestChangedEvent} and
+ * {@link UserChangedEvent}; {@code entityId} is null when the whole collection changed.
+ */
+public record CacheInvalidationEvent(CacheInvalidation.EntityType entityType, Long entityId, ChangeType changeType) {
+}
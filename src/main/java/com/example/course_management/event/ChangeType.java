@@ -0,0 +1,7 @@
+package com.example.course_management.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,10 @@
+package com.example.course_management.event;
+
+/**
+ * Published by {@code CourseService} for every course write, inside the writing transaction.
+ * {@code oldStatus} is null for creations, {@code newStatus} is null for deletions; {@code actor} is null when
+ * nobody is authenticated.
+ */
+public record CourseChangedEvent(Long courseId, Long teacherId, ChangeType changeType, String oldStatus, String newStatus,
+                                 Actor actor) {
+}
@@ -0,0 +1,7 @@
+package com.example.course_management.event;
+
+/**
+ * Published whenever a {@code User} row is inserted, updated or deleted, whichever code path did it.
+ */
+public record UserChangedEvent(Long userId, String email, String username, ChangeType changeType) {
+}
@@ -0,0 +1,42 @@
+package com.example.course_management.event;
+
+import com.example.course_management.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener registered on {@link User}. It only publishes a {@link UserChangedEvent};
+ * caches subscribe to that event, which keeps this listener free of repository dependencies
+ * (it is created while the EntityManagerFactory itself is being built).
+ */
+@Component
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void onUserCreated(User user) {
+        publish(user, ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUserUpdated(User user) {
+        publish(user, ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onUserDeleted(User user) {
+        publish(user, ChangeType.DELETED);
+    }
+
+    private void publish(User user, ChangeType changeType) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail(), user.getAccountUsername(), changeType));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.course_management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A {@code fields=} query parameter named a field the resource does not have.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldsetException extends RuntimeException {
+    public InvalidFieldsetException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.course_management.exception;
+
+/**
+ * Thrown when a bounded resource (e.g. the password hashing pool) is saturated and the request
+ * should be rejected immediately with 503 rather than queued behind everyone else.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
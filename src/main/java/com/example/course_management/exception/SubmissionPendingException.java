@@ -0,0 +1,18 @@
+package com.example.course_management.exception;
+
+/**
+ * The work was accepted and will still complete, but not within the request; the caller should answer 202
+ * and let the client follow up on {@link #getTicket()} instead of retrying.
+ */
+public class SubmissionPendingException extends RuntimeException {
+    private final String ticket;
+
+    public SubmissionPendingException(String message, String ticket) {
+        super(message);
+        this.ticket = ticket;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+}
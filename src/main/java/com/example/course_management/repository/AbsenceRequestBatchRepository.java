@@ -0,0 +1,18 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.AbsenceRequest;
+
+import java.util.List;
+
+/**
+ * Custom fragment of {@link AbsenceRequestRepository} for group-committed submissions
+ * (IDENTITY ids force Hibernate to insert one statement at a time).
+ */
+public interface AbsenceRequestBatchRepository {
+    /**
+     * Inserts the requests with one JDBC batch. Only the teacher and course ids of the associations are read.
+     *
+     * @return the generated ids, in input order
+     */
+    List<Long> batchInsert(List<AbsenceRequest> requests);
+}
@@ -0,0 +1,59 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.AbsenceRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+public class AbsenceRequestBatchRepositoryImpl implements AbsenceRequestBatchRepository {
+
+    private static final String INSERT_SQL =
+            "insert into absence_requests (teacher_id, course_id, justification, status, submitted_at) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AbsenceRequestBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> batchInsert(List<AbsenceRequest> requests) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        AbsenceRequest request = requests.get(i);
+                        ps.setLong(1, request.getTeacher().getId());
+                        if (request.getCourse() != null) {
+                            ps.setLong(2, request.getCourse().getId());
+                        } else {
+                            ps.setNull(2, Types.BIGINT);
+                        }
+                        ps.setString(3, request.getJustification());
+                        ps.setString(4, request.getStatus());
+                        ps.setTimestamp(5, Timestamp.valueOf(request.getSubmittedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return requests.size();
+                    }
+                },
+                keyHolder);
+        // MySQL reports the key as GENERATED_KEY, H2 as ID: take the single value either way
+        return keyHolder.getKeyList().stream()
+                .map(Map::values)
+                .map(values -> ((Number) values.iterator().next()).longValue())
+                .toList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.course_management.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface AbsenceRequestFieldsRepository {
+
+    /**
+     * Sparse-fieldset read of absence requests, selecting only the columns behind the requested
+     * {@code AbsenceRequestDTO} fields.
+     *
+     * @param teacherId optional filter
+     * @param status    optional filter
+     */
+    List<Map<String, Object>> findFields(Collection<String> fields, Long teacherId, String status);
+}
@@ -0,0 +1,42 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.AbsenceRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class AbsenceRequestFieldsRepositoryImpl implements AbsenceRequestFieldsRepository {
+
+    // Keys match the AbsenceRequestDTO property names; course is optional, hence the LEFT join
+    private static final TupleProjection<AbsenceRequest> PROJECTION = new TupleProjection<>(AbsenceRequest.class)
+            .field("id", (root, join) -> root.get("id"))
+            .field("teacherId", (root, join) -> root.get("teacher").get("id"))
+            .field("teacherName", (root, join) -> join.get("teacher").get("fullName"))
+            .field("courseId", (root, join) -> root.get("course").get("id"))
+            .field("courseName", (root, join) -> join.get("course").get("courseName"))
+            .field("justification", (root, join) -> root.get("justification"))
+            .field("status", (root, join) -> root.get("status"))
+            .field("submittedAt", (root, join) -> root.get("submittedAt"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Collection<String> fields, Long teacherId, String status) {
+        return PROJECTION.fetch(entityManager, fields, (cb, root) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (teacherId != null) {
+                predicates.add(cb.equal(root.get("teacher").get("id"), teacherId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            return predicates;
+        });
+    }
+}
@@ -1,12 +1,28 @@
 package com.example.course_management.repository;
 
 import com.example.course_management.entity.AbsenceRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface AbsenceRequestRepository extends JpaRepository<AbsenceRequest, Long> {
+public interface AbsenceRequestRepository extends JpaRepository<AbsenceRequest, Long>, AbsenceRequestFieldsRepository,
+        AbsenceRequestBatchRepository {
     List<AbsenceRequest> findByTeacherId(Long teacherId);
     List<AbsenceRequest> findByStatus(String status); // This needs to be combined with teacherId
     // Add a method to find by teacher ID AND status
     List<AbsenceRequest> findByTeacherIdAndStatus(Long teacherId, String status); // **Add this method**
-}
\ No newline at end of file
+
+    // Oldest closed requests first, used by the archival job to move them out in batches
+    List<AbsenceRequest> findByStatusInAndSubmittedAtBeforeOrderBySubmittedAtAsc(Collection<String> statuses,
+                                                                                LocalDateTime cutoff,
+                                                                                Pageable pageable);
+
+    // Live side of the history API, next to the archive's equivalents
+    List<AbsenceRequest> findBySubmittedAtBetweenOrderBySubmittedAtDesc(LocalDateTime from, LocalDateTime to);
+    List<AbsenceRequest> findByTeacherIdAndSubmittedAtBetweenOrderBySubmittedAtDesc(Long teacherId,
+                                                                                 LocalDateTime from,
+                                                                                 LocalDateTime to);
+}
@@ -0,0 +1,14 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.ArchivedAbsenceRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedAbsenceRequestRepository extends JpaRepository<ArchivedAbsenceRequest, Long> {
+    List<ArchivedAbsenceRequest> findBySubmittedAtBetweenOrderBySubmittedAtDesc(LocalDateTime from, LocalDateTime to);
+    List<ArchivedAbsenceRequest> findByTeacherIdAndSubmittedAtBetweenOrderBySubmittedAtDesc(Long teacherId,
+                                                                                            LocalDateTime from,
+                                                                                            LocalDateTime to);
+}
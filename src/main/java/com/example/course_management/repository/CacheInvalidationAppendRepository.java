@@ -0,0 +1,13 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.CacheInvalidation;
+import com.example.course_management.event.ChangeType;
+
+/**
+ * Custom fragment of {@link CacheInvalidationRepository}. User changes are published from JPA entity callbacks,
+ * i.e. in the middle of a flush, where persisting another entity is not allowed; a JDBC insert on the
+ * transaction's connection is.
+ */
+public interface CacheInvalidationAppendRepository {
+    void append(CacheInvalidation.EntityType entityType, Long entityId, ChangeType changeType, String nodeId);
+}
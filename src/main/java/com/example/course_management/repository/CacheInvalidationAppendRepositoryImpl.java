@@ -0,0 +1,26 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.CacheInvalidation;
+import com.example.course_management.event.ChangeType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+public class CacheInvalidationAppendRepositoryImpl implements CacheInvalidationAppendRepository {
+
+    private static final String INSERT_SQL =
+            "insert into cache_invalidations (entity_type, entity_id, change_type, node_id, created_at) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CacheInvalidationAppendRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void append(CacheInvalidation.EntityType entityType, Long entityId, ChangeType changeType, String nodeId) {
+        jdbcTemplate.update(INSERT_SQL, entityType.name(), entityId, changeType.name(), nodeId,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
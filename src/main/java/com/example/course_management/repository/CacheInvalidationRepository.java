@@ -0,0 +1,25 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long>, CacheInvalidationAppendRepository {
+
+    List<CacheInvalidation> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select max(c.id) from CacheInvalidation c")
+    Long findLatestId();
+
+    @Modifying
+    @Transactional
+    @Query("delete from CacheInvalidation c where c.createdAt < :cutoff")
+    int deleteByCreatedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,31 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByEntityTypeAndIdGreaterThanOrderByIdAsc(ChangeLogEntry.EntityType entityType,
+                                                                      Long id,
+                                                                      Pageable pageable);
+
+    // The clock that stamps changed_at, in the same session time zone, so settle cutoffs never mix in the JVM's
+    @Query("select local datetime")
+    LocalDateTime findDatabaseTime();
+
+    @Query("select min(c.id) from ChangeLogEntry c where c.entityType = :entityType")
+    Long findOldestId(@Param("entityType") ChangeLogEntry.EntityType entityType);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ChangeLogEntry c where c.changedAt < :cutoff")
+    int deleteByChangedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
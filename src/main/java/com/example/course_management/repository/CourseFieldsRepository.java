@@ -0,0 +1,16 @@
+package com.example.course_management.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CourseFieldsRepository {
+
+    /**
+     * Sparse-fieldset read of courses, selecting only the columns behind the requested {@code CourseDTO} fields.
+     *
+     * @param teacherId optional filter
+     * @param status    optional filter
+     */
+    List<Map<String, Object>> findFields(Collection<String> fields, Long teacherId, String status);
+}
@@ -0,0 +1,43 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.Course;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class CourseFieldsRepositoryImpl implements CourseFieldsRepository {
+
+    // Keys match the CourseDTO property names
+    private static final TupleProjection<Course> PROJECTION = new TupleProjection<>(Course.class)
+            .field("id", (root, join) -> root.get("id"))
+            .field("courseName", (root, join) -> root.get("courseName"))
+            .field("teacherId", (root, join) -> root.get("teacher").get("id"))
+            .field("teacherName", (root, join) -> join.get("teacher").get("fullName"))
+            .field("teacherEmail", (root, join) -> join.get("teacher").get("email"))
+            .field("status", (root, join) -> root.get("status"))
+            .field("type", (root, join) -> root.get("type"))
+            .field("description", (root, join) -> root.get("description"))
+            .field("timetable", (root, join) -> root.get("timetable"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Collection<String> fields, Long teacherId, String status) {
+        return PROJECTION.fetch(entityManager, fields, (cb, root) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (teacherId != null) {
+                predicates.add(cb.equal(root.get("teacher").get("id"), teacherId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            return predicates;
+        });
+    }
+}
@@ -7,7 +7,7 @@ import java.util.List;
 import java.util.Optional;
 import com.example.course_management.entity.User; // Ensure User is imported
 
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseFieldsRepository {
     // Custom query to find courses by teacher ID
     List<Course> findByTeacherId(Long teacherId);
 
@@ -0,0 +1,103 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.exception.InvalidFieldsetException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Sparse-fieldset query over one entity: selects only the requested columns as a Criteria tuple and returns
+ * each row as an ordered map keyed by DTO field name. Association fields are read through a LEFT join that is
+ * added only when one of its fields is requested, so an {@code id,status} list never touches the users table.
+ * The {@code id} field is always selected.
+ */
+final class TupleProjection<T> {
+
+    /**
+     * Resolves a DTO field to an entity path; {@code join} returns the (shared) LEFT join for an association.
+     */
+    @FunctionalInterface
+    interface FieldPath<T> {
+        Path<?> resolve(Root<T> root, JoinSupplier<T> join);
+    }
+
+    @FunctionalInterface
+    interface JoinSupplier<T> {
+        Join<T, ?> get(String association);
+    }
+
+    private final Class<T> entityType;
+    private final Map<String, FieldPath<T>> fields = new LinkedHashMap<>();
+
+    TupleProjection(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    TupleProjection<T> field(String name, FieldPath<T> path) {
+        fields.put(name, path);
+        return this;
+    }
+
+    /**
+     * @param requested DTO field names; unknown names raise {@link InvalidFieldsetException}
+     * @param filter    WHERE predicates for the query
+     */
+    List<Map<String, Object>> fetch(EntityManager entityManager,
+                                    Collection<String> requested,
+                                    BiFunction<CriteriaBuilder, Root<T>, List<Predicate>> filter) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String name : requested) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!fields.containsKey(trimmed)) {
+                throw new InvalidFieldsetException("Unknown field '" + trimmed + "', expected one of " + fields.keySet());
+            }
+            selected.add(trimmed);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        Map<String, Join<T, ?>> joins = new HashMap<>();
+        JoinSupplier<T> join = association -> joins.computeIfAbsent(association, a -> root.join(a, JoinType.LEFT));
+
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String name : selected) {
+            selections.add(fields.get(name).resolve(root, join).alias(name));
+        }
+        query.multiselect(selections)
+                .where(filter.apply(cb, root).toArray(Predicate[]::new))
+                .orderBy(cb.asc(root.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String name : selected) {
+                row.put(name, tuple.get(name));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.User;
+
+import java.util.List;
+
+/**
+ * Custom fragment of {@link UserRepository} for bulk writes that JPA cannot batch
+ * (IDENTITY ids force Hibernate to insert users one statement at a time).
+ */
+public interface UserBatchRepository {
+    /**
+     * Inserts the users with JDBC batching. Ids are not populated; entity listeners do not run.
+     */
+    void batchInsert(List<User> users);
+}
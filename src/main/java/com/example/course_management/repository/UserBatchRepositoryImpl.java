@@ -0,0 +1,34 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    private static final String INSERT_SQL =
+            "insert into users (username, email, full_name, password, role, is_activated) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${invite.bulk.jdbc-batch-size:100}")
+    private int batchSize;
+
+    public UserBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, batchSize, (ps, user) -> {
+            ps.setString(1, user.getAccountUsername());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getFullName());
+            ps.setString(4, user.getPassword());
+            ps.setString(5, user.getRole());
+            ps.setBoolean(6, user.isActivated());
+        });
+    }
+}
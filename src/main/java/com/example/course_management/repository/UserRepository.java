@@ -2,14 +2,37 @@ package com.example.course_management.repository;
 
 import com.example.course_management.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserBatchRepository {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     Optional<User> findByUsernameOrEmail(String username, String email);
-    User findByRegistrationToken(String token);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     List<User> findByRole(String role);
+
+    // Column-only scans used to (re)build the in-memory existence filter
+    @Query("select u.email from User u where u.email is not null")
+    List<String> findAllEmails();
+
+    @Query("select u.username from User u")
+    List<String> findAllUsernames();
+
+    // One IN query for a whole batch of candidate emails
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<User> findByEmailIn(Collection<String> emails);
+
+    // Claims a pending invite atomically: of two concurrent completions only one sees the row still pending
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.password = :password, u.isActivated = true "
+            + "where u.id = :id and u.isActivated = false and u.password is null")
+    int activatePendingInvite(@Param("id") Long id, @Param("password") String encodedPassword);
 }
\ No newline at end of file
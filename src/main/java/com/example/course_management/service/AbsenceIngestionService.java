@@ -0,0 +1,302 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.dto.AbsenceSubmissionDTO;
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.CacheInvalidation;
+import com.example.course_management.entity.Course;
+import com.example.course_management.entity.User;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.Actor;
+import com.example.course_management.event.CacheInvalidationEvent;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.exception.ResourceNotFoundException;
+import com.example.course_management.exception.ServiceOverloadedException;
+import com.example.course_management.exception.SubmissionPendingException;
+import com.example.course_management.repository.AbsenceRequestRepository;
+import com.example.course_management.repository.CourseRepository;
+import com.example.course_management.util.ExpiringCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind ingestion of teacher absence submissions with group commit.
+ * <p>
+ * Request threads validate against a cached course lookup, enqueue, and wait for their row's id. A single writer
+ * thread drains whatever has queued up (up to {@code absence-ingestion.batch-size}) and inserts it with one JDBC
+ * batch in one transaction, so a burst of N submissions costs a handful of commits instead of N. There is no
+ * batching delay: while one batch commits the next one accumulates, so batches only grow under load.
+ * A full queue is rejected at once with {@link ServiceOverloadedException} (503). A submission that is already
+ * queued will still commit, so a slow commit is not an error: it raises {@link SubmissionPendingException}
+ * with a ticket the client can follow up on through {@link #getSubmission}, instead of inviting a retry that
+ * would insert the row twice.
+ */
+@Service
+public class AbsenceIngestionService {
+
+    private record CourseRef(Long teacherId, String courseName) {
+    }
+
+    // Submissions from every tenant share the queue; each is committed to its own tenant's database. The actor is
+    // taken on the request thread: the writer thread that publishes the change events has no security context
+    private record PendingSubmission(String tenantId, Actor actor, AbsenceRequest request, CompletableFuture<Long> result) {
+    }
+
+    private record Ticket(Long teacherId, CompletableFuture<AbsenceRequestDTO> result) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(AbsenceIngestionService.class);
+
+    private final AbsenceRequestRepository absenceRequestRepository;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpiringCache<String, CourseRef> courses;
+    private final ExpiringCache<String, Ticket> tickets;
+    private final BlockingQueue<PendingSubmission> queue;
+    private final int batchSize;
+    private final long submitTimeoutMillis;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AbsenceIngestionService(AbsenceRequestRepository absenceRequestRepository,
+                                   CourseRepository courseRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${absence-ingestion.queue-capacity:5000}") int queueCapacity,
+                                   @Value("${absence-ingestion.batch-size:200}") int batchSize,
+                                   @Value("${absence-ingestion.submit-timeout:5s}") Duration submitTimeout,
+                                   @Value("${absence-ingestion.course-cache-ttl:5m}") Duration courseCacheTtl,
+                                   @Value("${absence-ingestion.ticket-ttl:24h}") Duration ticketTtl) {
+        this.absenceRequestRepository = absenceRequestRepository;
+        this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.courses = new ExpiringCache<>(courseCacheTtl, 10_000);
+        this.tickets = new ExpiringCache<>(ticketTtl, 10_000);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.submitTimeoutMillis = submitTimeout.toMillis();
+        this.batchSizes = DistributionSummary.builder("absence_ingestion.batch_size")
+                .description("Absence submissions committed per group commit")
+                .register(meterRegistry);
+        Gauge.builder("absence_ingestion.queue_size", queue, BlockingQueue::size)
+                .description("Absence submissions waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "absence-ingestion");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Stops taking new work but lets the writer commit everything already acknowledged to the queue
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Submits an absence request for the authenticated teacher and blocks until it is committed.
+     *
+     * @throws ResourceNotFoundException   if the course does not exist
+     * @throws AccessDeniedException       if the course is taught by someone else
+     * @throws ServiceOverloadedException  if the queue is full; nothing was submitted
+     * @throws SubmissionPendingException  if the commit does not finish in time; it will still happen
+     */
+    public AbsenceRequestDTO submit(Long teacherId, String teacherName, Long courseId, String justification) {
+        CourseRef course = courses.getOrLoad(courseKey(courseId), key -> courseRepository.findById(courseId)
+                .map(c -> new CourseRef(c.getTeacher() != null ? c.getTeacher().getId() : null, c.getCourseName()))
+                .orElse(null));
+        if (course == null) {
+            throw new ResourceNotFoundException("Course not found with ID: " + courseId);
+        }
+        if (!teacherId.equals(course.teacherId())) {
+            throw new AccessDeniedException("Course " + courseId + " is not taught by this teacher");
+        }
+
+        AbsenceRequest request = new AbsenceRequest();
+        User teacher = new User();
+        teacher.setId(teacherId);
+        request.setTeacher(teacher);
+        Course courseRef = new Course();
+        courseRef.setId(courseId);
+        request.setCourse(courseRef);
+        request.setJustification(justification);
+        request.setStatus("PENDING");
+        request.setSubmittedAt(LocalDateTime.now());
+
+        PendingSubmission pending = new PendingSubmission(TenantContext.getTenantId(), Actor.current(), request,
+                new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new ServiceOverloadedException("Too many absence submissions, please retry shortly", 1);
+        }
+
+        CompletableFuture<AbsenceRequestDTO> result = pending.result().thenApply(id -> {
+            AbsenceRequestDTO dto = new AbsenceRequestDTO();
+            dto.setId(id);
+            dto.setTeacherId(teacherId);
+            dto.setTeacherName(teacherName);
+            dto.setCourseId(courseId);
+            dto.setCourseName(course.courseName());
+            dto.setJustification(justification);
+            dto.setStatus(request.getStatus());
+            dto.setSubmittedAt(request.getSubmittedAt());
+            return dto;
+        });
+        try {
+            return result.get(submitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The row is still queued and will commit, so a retry would insert it twice
+            String ticket = UUID.randomUUID().toString();
+            tickets.put(TenantContext.scoped(ticket), new Ticket(teacherId, result));
+            throw new SubmissionPendingException("Absence submission accepted and still being committed", ticket);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while submitting absence request", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Absence submission failed", e.getCause());
+        }
+    }
+
+    /**
+     * Outcome of a submission that raised {@link SubmissionPendingException}. Tickets are held by the instance
+     * that accepted the submission, like the {@code Idempotency-Key} store, so follow-ups need sticky routing.
+     *
+     * @throws ResourceNotFoundException if the ticket is unknown, expired or belongs to another teacher
+     */
+    public AbsenceSubmissionDTO getSubmission(Long teacherId, String ticket) {
+        Ticket pending = tickets.get(TenantContext.scoped(ticket));
+        if (pending == null || !pending.teacherId().equals(teacherId)) {
+            throw new ResourceNotFoundException("Absence submission not found: " + ticket);
+        }
+        CompletableFuture<AbsenceRequestDTO> result = pending.result();
+        if (!result.isDone()) {
+            return new AbsenceSubmissionDTO(ticket, "PENDING", null);
+        }
+        if (result.isCompletedExceptionally()) {
+            return new AbsenceSubmissionDTO(ticket, "FAILED", null);
+        }
+        return new AbsenceSubmissionDTO(ticket, "COMMITTED", result.join());
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    // Course deletion or reassignment invalidates the ownership check
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.courseId() != null) {
+            courses.invalidate(courseKey(event.courseId()));
+        }
+    }
+
+    @EventListener
+    public void onRemoteChange(CacheInvalidationEvent event) {
+        if (event.entityType() == CacheInvalidation.EntityType.COURSE && event.entityId() != null) {
+            courses.invalidate(courseKey(event.entityId()));
+        }
+    }
+
+    private void runWriter() {
+        List<PendingSubmission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSubmission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batch.stream()
+                        .collect(Collectors.groupingBy(PendingSubmission::tenantId, LinkedHashMap::new, Collectors.toList()))
+                        .forEach((tenantId, submissions) -> TenantContext.runAs(tenantId, () -> commit(submissions)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Absence ingestion writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingSubmission> batch) {
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> insert(batch));
+            batchSizes.record(batch.size());
+            complete(batch, ids);
+        } catch (RuntimeException batchFailure) {
+            // One bad row (e.g. a course deleted since validation) must not fail everyone else's submission
+            logger.warn("Group commit of {} absence requests failed, retrying individually", batch.size(), batchFailure);
+            for (PendingSubmission pending : batch) {
+                try {
+                    List<Long> ids = transactionTemplate.execute(status -> insert(List.of(pending)));
+                    batchSizes.record(1);
+                    complete(List.of(pending), ids);
+                } catch (RuntimeException e) {
+                    pending.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static String courseKey(Long courseId) {
+        return TenantContext.scoped(String.valueOf(courseId));
+    }
+
+    private List<Long> insert(List<PendingSubmission> batch) {
+        List<AbsenceRequest> requests = batch.stream().map(PendingSubmission::request).toList();
+        List<Long> ids = absenceRequestRepository.batchInsert(requests);
+        for (int i = 0; i < requests.size(); i++) {
+            AbsenceRequest request = requests.get(i);
+            eventPublisher.publishEvent(new AbsenceRequestChangedEvent(ids.get(i), request.getTeacher().getId(),
+                    ChangeType.CREATED, null, request.getStatus(), batch.get(i).actor()));
+        }
+        return ids;
+    }
+
+    // Only called after the transaction committed, so an acknowledged id is always durable
+    private static void complete(List<PendingSubmission> batch, List<Long> ids) {
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(ids.get(i));
+        }
+    }
+}
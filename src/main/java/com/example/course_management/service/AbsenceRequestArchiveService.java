@@ -0,0 +1,175 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.config.TenantRegistry;
+import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.ArchivedAbsenceRequest;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.Actor;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.repository.AbsenceRequestRepository;
+import com.example.course_management.repository.ArchivedAbsenceRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves closed absence requests out of the hot {@code absence_requests} table into
+ * {@code absence_requests_archive}, so teacher/status lookups only scan the current period.
+ * {@link #getHistory(Long, LocalDateTime, LocalDateTime)} reads both tables, so history does not depend on
+ * whether a request has been archived yet.
+ */
+@Service
+public class AbsenceRequestArchiveService {
+
+    private static final List<String> CLOSED_STATUSES = List.of("APPROVED", "REJECTED");
+    private static final Actor ARCHIVAL = Actor.system("absence-archival");
+
+    private final Logger logger = LoggerFactory.getLogger(AbsenceRequestArchiveService.class);
+
+    private final AbsenceRequestRepository absenceRequestRepository;
+    private final ArchivedAbsenceRequestRepository archivedAbsenceRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TenantRegistry tenantRegistry;
+
+    @Value("${absence.archive.retention-days:180}")
+    private int retentionDays;
+
+    @Value("${absence.archive.batch-size:500}")
+    private int batchSize;
+
+    public AbsenceRequestArchiveService(AbsenceRequestRepository absenceRequestRepository,
+                                        ArchivedAbsenceRequestRepository archivedAbsenceRequestRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        ApplicationEventPublisher eventPublisher,
+                                        TenantRegistry tenantRegistry) {
+        this.absenceRequestRepository = absenceRequestRepository;
+        this.archivedAbsenceRequestRepository = archivedAbsenceRequestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    @Scheduled(cron = "${absence.archive.cron:0 30 2 * * *}")
+    public void archiveClosedRequests() {
+        tenantRegistry.forEachTenant(this::archiveCurrentTenant);
+    }
+
+    private void archiveCurrentTenant() {
+        archive(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Archives the current tenant's closed requests submitted strictly before {@code cutoff}. Batches that
+     * committed stay archived if a later one fails; rerunning picks up where it stopped.
+     *
+     * @return the number of requests archived
+     */
+    int archive(LocalDateTime cutoff) {
+        int total = 0;
+        int moved;
+        // One transaction per batch keeps lock time and undo log size bounded
+        do {
+            Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            moved = batch != null ? batch : 0;
+            total += moved;
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            logger.info("Archived {} closed absence requests submitted before {} for tenant {}", total, cutoff, TenantContext.getTenantId());
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<AbsenceRequest> batch = absenceRequestRepository
+                .findByStatusInAndSubmittedAtBeforeOrderBySubmittedAtAsc(CLOSED_STATUSES, cutoff, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime archivedAt = LocalDateTime.now();
+        archivedAbsenceRequestRepository.saveAll(batch.stream()
+                .map(request -> toArchived(request, archivedAt))
+                .collect(Collectors.toList()));
+        absenceRequestRepository.deleteAllInBatch(batch);
+        // Archived rows leave the hot lists, so they count as deletions for listeners
+        batch.forEach(request -> eventPublisher.publishEvent(new AbsenceRequestChangedEvent(
+                request.getId(), request.getTeacher().getId(), ChangeType.DELETED, request.getStatus(), null, ARCHIVAL)));
+        return batch.size();
+    }
+
+    // History API: live and archived requests submitted in [from, to], newest first, optionally for a single teacher.
+    // Both reads share one snapshot, so a batch archived meanwhile shows up exactly once.
+    public List<AbsenceRequestDTO> getHistory(Long teacherId, LocalDateTime from, LocalDateTime to) {
+        return readTransactionTemplate.execute(status -> {
+            List<AbsenceRequest> live = (teacherId != null)
+                    ? absenceRequestRepository.findByTeacherIdAndSubmittedAtBetweenOrderBySubmittedAtDesc(teacherId, from, to)
+                    : absenceRequestRepository.findBySubmittedAtBetweenOrderBySubmittedAtDesc(from, to);
+            List<ArchivedAbsenceRequest> archived = (teacherId != null)
+                    ? archivedAbsenceRequestRepository.findByTeacherIdAndSubmittedAtBetweenOrderBySubmittedAtDesc(teacherId, from, to)
+                    : archivedAbsenceRequestRepository.findBySubmittedAtBetweenOrderBySubmittedAtDesc(from, to);
+            return Stream.concat(live.stream().map(this::convertToDTO), archived.stream().map(this::convertToDTO))
+                    .sorted(Comparator.comparing(AbsenceRequestDTO::getSubmittedAt).reversed())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private ArchivedAbsenceRequest toArchived(AbsenceRequest request, LocalDateTime archivedAt) {
+        ArchivedAbsenceRequest archived = new ArchivedAbsenceRequest();
+        archived.setId(request.getId());
+        archived.setTeacherId(request.getTeacher().getId());
+        archived.setTeacherName(request.getTeacher().getFullName());
+        if (request.getCourse() != null) {
+            archived.setCourseId(request.getCourse().getId());
+            archived.setCourseName(request.getCourse().getCourseName());
+        }
+        archived.setJustification(request.getJustification());
+        archived.setStatus(request.getStatus());
+        archived.setSubmittedAt(request.getSubmittedAt());
+        archived.setArchivedAt(archivedAt);
+        return archived;
+    }
+
+    private AbsenceRequestDTO convertToDTO(AbsenceRequest request) {
+        return new AbsenceRequestDTO(
+                request.getId(),
+                request.getTeacher().getId(),
+                request.getTeacher().getFullName(),
+                request.getCourse() != null ? request.getCourse().getId() : null,
+                request.getCourse() != null ? request.getCourse().getCourseName() : null,
+                request.getJustification(),
+                request.getStatus(),
+                request.getSubmittedAt()
+        );
+    }
+
+    private AbsenceRequestDTO convertToDTO(ArchivedAbsenceRequest archived) {
+        return new AbsenceRequestDTO(
+                archived.getId(),
+                archived.getTeacherId(),
+                archived.getTeacherName(),
+                archived.getCourseId(),
+                archived.getCourseName(),
+                archived.getJustification(),
+                archived.getStatus(),
+                archived.getSubmittedAt()
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.course_management.service;
 
+import com.example.course_management.config.TenantContext;
 import com.example.course_management.dto.AbsenceRequestDTO;
 import com.example.course_management.entity.AbsenceRequest;
 import com.example.course_management.entity.Course; // Keep Course import
@@ -7,14 +8,26 @@ import com.example.course_management.repository.AbsenceRequestRepository;
 import com.example.course_management.repository.CourseRepository; // Keep CourseRepository import
 import com.example.course_management.repository.UserRepository; // Keep UserRepository import
 import com.example.course_management.entity.User; // Keep User import
-
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.Actor;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.event.UserChangedEvent;
+import com.example.course_management.util.SingleFlight;
+
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+@Timed(value = "service.calls", histogram = true)
 @Service
 public class AbsenceRequestService {
 
@@ -22,15 +35,20 @@ public class AbsenceRequestService {
     private final CourseRepository courseRepository; // Keep CourseRepository
     private final AbsenceRequestRepository absenceRequestRepository;
     private final EmailService emailService; // Inject EmailService
+    private final ApplicationEventPublisher eventPublisher;
+    // Concurrent identical list reads share one query and its result, so loaders return unmodifiable copies
+    private final SingleFlight<String, List<AbsenceRequestDTO>> listReads = new SingleFlight<>();
 
     public AbsenceRequestService(AbsenceRequestRepository absenceRequestRepository,
                                  UserRepository userRepository,
                                  CourseRepository courseRepository,
-                                 EmailService emailService) { // Add EmailService to constructor
+                                 EmailService emailService, // Add EmailService to constructor
+                                 ApplicationEventPublisher eventPublisher) {
         this.absenceRequestRepository = absenceRequestRepository;
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
         this.emailService = emailService; // Assign EmailService
+        this.eventPublisher = eventPublisher;
     }
 
     // Conversion method to convert AbsenceRequest to AbsenceRequestDTO
@@ -82,26 +100,36 @@ public class AbsenceRequestService {
         request.setSubmittedAt(requestDTO.getSubmittedAt() != null ? requestDTO.getSubmittedAt() : LocalDateTime.now());
         request.setStatus("PENDING"); // Default status on submission
 
-        return absenceRequestRepository.save(request);
+        AbsenceRequest savedRequest = absenceRequestRepository.save(request);
+        publishChange(savedRequest, ChangeType.CREATED, null);
+        return savedRequest;
     }
 
     // Service method to get absence requests by teacher ID
     public List<AbsenceRequestDTO> getAbsenceRequestsByTeacher(Long teacherId) {
-        List<AbsenceRequest> requests = absenceRequestRepository.findByTeacherId(teacherId);
-        return convertToDTOList(requests);
+        return listReads.execute(TenantContext.scoped("teacher:" + teacherId), () ->
+                List.copyOf(convertToDTOList(absenceRequestRepository.findByTeacherId(teacherId))));
     }
 
     // Service method to get absence requests by teacher ID and Status
     public List<AbsenceRequestDTO> getAbsenceRequestsByTeacherAndStatus(Long teacherId, String status) {
-        List<AbsenceRequest> requests = absenceRequestRepository.findByTeacherIdAndStatus(teacherId, status); // Use the new repository method
-        return convertToDTOList(requests);
+        return listReads.execute(TenantContext.scoped("teacher:" + teacherId + ":" + status), () ->
+                List.copyOf(convertToDTOList(absenceRequestRepository.findByTeacherIdAndStatus(teacherId, status)))); // Use the new repository method
     }
 
 
+    /**
+     * Sparse-fieldset variant of the absence request lists: only the requested {@code AbsenceRequestDTO} fields
+     * are selected and returned ({@code id} always is). Filters are optional.
+     */
+    public List<Map<String, Object>> getAbsenceRequestFields(Collection<String> fields, Long teacherId, String status) {
+        return absenceRequestRepository.findFields(fields, teacherId, status);
+    }
+
     // Service method to get approved absence requests (might be for Admin or specific view)
     public List<AbsenceRequestDTO> getApprovedAbsenceRequests() {
-        List<AbsenceRequest> approvedRequests = absenceRequestRepository.findByStatus("APPROVED");
-        return convertToDTOList(approvedRequests);
+        return listReads.execute(TenantContext.scoped("approved"), () ->
+                List.copyOf(convertToDTOList(absenceRequestRepository.findByStatus("APPROVED"))));
     }
 
     // Service method to update absence request status (likely for Admin/Direction)
@@ -113,6 +141,7 @@ public class AbsenceRequestService {
 
             request.setStatus(status);
             AbsenceRequest updatedRequest = absenceRequestRepository.save(request);
+            publishChange(updatedRequest, ChangeType.UPDATED, oldStatus);
 
             // --- NEW: Notify students if the status changes to APPROVED ---
             if ("APPROVED".equals(updatedRequest.getStatus()) && !"APPROVED".equals(oldStatus)) {
@@ -130,7 +159,7 @@ public class AbsenceRequestService {
     }
 
     public List<AbsenceRequestDTO> getAllRequestsAsDTO() {
-        return convertToDTOList(absenceRequestRepository.findAll());
+        return listReads.execute(TenantContext.scoped("all"), () -> List.copyOf(convertToDTOList(absenceRequestRepository.findAll())));
     }
 
     // You might need a method to get a specific absence request by ID as DTO
@@ -139,26 +168,36 @@ public class AbsenceRequestService {
         return (request != null) ? convertToDTO(request) : null;
     }
 
+    // Listeners (ETag versions, ...) react to absence request writes through this event
+    private void publishChange(AbsenceRequest request, ChangeType changeType, String oldStatus) {
+        Long teacherId = request.getTeacher() != null ? request.getTeacher().getId() : null;
+        eventPublisher.publishEvent(new AbsenceRequestChangedEvent(request.getId(), teacherId, changeType, oldStatus, request.getStatus(),
+                Actor.current()));
+    }
+
+    // A read already in flight may predate the commit; later callers must not join it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAbsenceRequestChanged(AbsenceRequestChangedEvent event) {
+        listReads.forgetAll();
+    }
+
+    // Absence request DTOs carry course and teacher names
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        listReads.forgetAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        listReads.forgetAll();
+    }
+
     // --- NEW METHOD: Notify students about an approved absence request ---
     private void notifyStudentsAboutApprovedAbsence(AbsenceRequest approvedRequest) {
         List<User> students = userRepository.findByRole("STUDENT"); // Get all students
 
-        String subject = "Absence Request Approved";
-        String teacherName = approvedRequest.getTeacher() != null ? approvedRequest.getTeacher().getFullName() : "Unknown Teacher";
-        String courseName = approvedRequest.getCourse() != null ? approvedRequest.getCourse().getCourseName() : "Unknown Course";
-        String justification = approvedRequest.getJustification() != null ? approvedRequest.getJustification() : "No justification provided.";
-
-        String message = String.format(
-            "Dear Student,\n\nAn absence request has been approved:\n\n" +
-            "Teacher: %s\n" +
-            "Course: %s\n" +
-            "Justification: %s\n\n" +
-            "Please check the course schedule for potential impacts or makeup information.\n\n" +
-            "Sincerely,\nThe Course Management Team",
-            teacherName,
-            courseName,
-            justification
-        );
+        String subject = NotificationMessages.APPROVED_ABSENCE_SUBJECT;
+        String message = NotificationMessages.approvedAbsenceForStudents(approvedRequest);
 
         for (User student : students) {
             if (student.getEmail() != null && !student.getEmail().isEmpty()) {
@@ -167,6 +206,7 @@ public class AbsenceRequestService {
                 System.out.println("Student " + student.getFullName() + " has no email address to send notification about approved absence.");
             }
         }
+        emailService.recordFanOut("absence-approved", students.size());
         System.out.println("Sent approved absence request notification to " + students.size() + " students."); // Log
     }
     // --- END NEW METHOD ---
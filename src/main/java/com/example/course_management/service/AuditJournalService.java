@@ -0,0 +1,212 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.dto.AuditEntryDTO;
+import com.example.course_management.entity.ChangeLogEntry;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.Actor;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.util.MappedSegmentLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Audit trail of course and absence request status transitions: who moved what from which status to which, and
+ * when. Entries go to a {@link MappedSegmentLog} under {@code audit.journal.directory} after the writing
+ * transaction commits, so the transactional write path gains no database rows; the log is flushed to disk every
+ * {@code audit.journal.fsync-interval}, which bounds what an OS crash can lose.
+ * <p>
+ * The journal is local to the instance: with several instances, each one's directory holds the transitions it
+ * served. Segments are never deleted by the application.
+ */
+@Service
+public class AuditJournalService {
+
+    private final Logger logger = LoggerFactory.getLogger(AuditJournalService.class);
+
+    private static final ChangeLogEntry.EntityType[] ENTITY_TYPES = ChangeLogEntry.EntityType.values();
+    private static final ChangeType[] CHANGE_TYPES = ChangeType.values();
+    private static final long NONE = -1;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final DataSize segmentSize;
+    private final int maxQueryResults;
+
+    private MappedSegmentLog log;
+
+    public AuditJournalService(@Value("${audit.journal.enabled:true}") boolean enabled,
+                               @Value("${audit.journal.directory:data/audit}") Path directory,
+                               @Value("${audit.journal.segment-size:16MB}") DataSize segmentSize,
+                               @Value("${audit.journal.max-query-results:5000}") int maxQueryResults) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxQueryResults = maxQueryResults;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (enabled) {
+            log = new MappedSegmentLog(directory, Math.toIntExact(segmentSize.toBytes()));
+            logger.info("Audit journal opened in {}", directory.toAbsolutePath());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        record(ChangeLogEntry.EntityType.COURSE, event.courseId(), event.teacherId(), event.changeType(),
+                event.oldStatus(), event.newStatus(), event.actor());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAbsenceRequestChanged(AbsenceRequestChangedEvent event) {
+        record(ChangeLogEntry.EntityType.ABSENCE_REQUEST, event.requestId(), event.teacherId(), event.changeType(),
+                event.oldStatus(), event.newStatus(), event.actor());
+    }
+
+    @Scheduled(fixedDelayString = "${audit.journal.fsync-interval:1000}")
+    public void flush() {
+        if (log != null) {
+            log.force();
+        }
+    }
+
+    /**
+     * Transitions of the current tenant between {@code from} and {@code to} (inclusive), oldest first, optionally
+     * narrowed to one entity type or entity.
+     */
+    public List<AuditEntryDTO> query(LocalDateTime from, LocalDateTime to, ChangeLogEntry.EntityType entityType,
+                                     Long entityId, int limit) {
+        int maxResults = Math.max(1, Math.min(limit, maxQueryResults));
+        String tenantId = TenantContext.getTenantId();
+        List<AuditEntryDTO> entries = new ArrayList<>();
+        replay(from, to, entry -> {
+            if (entry.tenantId().equals(tenantId)
+                    && (entityType == null || entry.entityType() == entityType)
+                    && (entityId == null || entityId.equals(entry.entityId()))) {
+                entries.add(entry);
+            }
+            return entries.size() < maxResults;
+        });
+        return entries;
+    }
+
+    /**
+     * Feeds every journaled transition between {@code from} and {@code to} (inclusive), of all tenants, to
+     * {@code visitor} oldest first, until it returns false.
+     */
+    public void replay(LocalDateTime from, LocalDateTime to, Predicate<AuditEntryDTO> visitor) {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.scan(toEpochMilli(from), toEpochMilli(to), (timestamp, payload) -> visitor.test(decode(timestamp, payload)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the audit journal", e);
+        }
+    }
+
+    private void record(ChangeLogEntry.EntityType entityType, Long entityId, Long teacherId, ChangeType changeType,
+                        String oldStatus, String newStatus, Actor actor) {
+        if (log == null || entityId == null || Objects.equals(oldStatus, newStatus)) {
+            return;
+        }
+        byte[] payload = encode(entityType, entityId, teacherId, changeType, oldStatus, newStatus,
+                TenantContext.getTenantId(), actor != null ? actor.id() : null, actor != null ? actor.name() : null);
+        try {
+            log.append(System.currentTimeMillis(), payload);
+        } catch (IOException | RuntimeException e) {
+            // The change is already committed; losing its audit entry must not fail the request
+            logger.error("Failed to journal {} {} {} -> {}", entityType, entityId, oldStatus, newStatus, e);
+        }
+    }
+
+    // Payload layout (the log adds length, timestamp and checksum):
+    // byte entity type, byte change type, long entity id, long teacher id, long actor id (-1 if none),
+    // then old status, new status, tenant id and actor name as short length + UTF-8 (-1 if null).
+    // Enum ordinals are stored, so new constants may only be appended.
+    static byte[] encode(ChangeLogEntry.EntityType entityType, Long entityId, Long teacherId, ChangeType changeType,
+                         String oldStatus, String newStatus, String tenantId, Long actorId, String actor) {
+        byte[][] strings = {utf8(oldStatus), utf8(newStatus), utf8(tenantId), utf8(actor)};
+        int size = 2 + 3 * Long.BYTES;
+        for (byte[] string : strings) {
+            size += Short.BYTES + (string != null ? string.length : 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+                .put((byte) entityType.ordinal())
+                .put((byte) changeType.ordinal())
+                .putLong(entityId)
+                .putLong(teacherId != null ? teacherId : NONE)
+                .putLong(actorId != null ? actorId : NONE);
+        for (byte[] string : strings) {
+            buffer.putShort((short) (string != null ? string.length : -1));
+            if (string != null) {
+                buffer.put(string);
+            }
+        }
+        return buffer.array();
+    }
+
+    static AuditEntryDTO decode(long timestamp, ByteBuffer payload) {
+        ChangeLogEntry.EntityType entityType = ENTITY_TYPES[payload.get()];
+        ChangeType changeType = CHANGE_TYPES[payload.get()];
+        long entityId = payload.getLong();
+        long teacherId = payload.getLong();
+        long actorId = payload.getLong();
+        String oldStatus = readString(payload);
+        String newStatus = readString(payload);
+        String tenantId = readString(payload);
+        String actor = readString(payload);
+        return new AuditEntryDTO(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()),
+                tenantId, entityType, entityId, changeType, oldStatus, newStatus,
+                teacherId != NONE ? teacherId : null, actorId != NONE ? actorId : null, actor);
+    }
+
+    // Statuses, tenant ids and user names are all far below the 32 KB a short length allows
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -2,21 +2,34 @@ package com.example.course_management.service;
 
 import com.example.course_management.dto.UserDTO; // Assuming UserDTO exists
 import com.example.course_management.entity.User;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.UserChangedEvent;
+import com.example.course_management.exception.ResourceNotFoundException;
 import com.example.course_management.repository.UserRepository;
 // Remove PasswordEncoder import if not using
 // import org.springframework.security.crypto.password.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+@Timed(value = "service.calls", histogram = true)
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
+    private final ApplicationEventPublisher eventPublisher;
     // Remove PasswordEncoder if not using
     // private final PasswordEncoder passwordEncoder;
 
     // Correct constructor
-    public AuthService(UserRepository userRepository /*, PasswordEncoder passwordEncoder */) {
+    public AuthService(UserRepository userRepository, UserExistenceFilter userExistenceFilter,
+                       ApplicationEventPublisher eventPublisher /*, PasswordEncoder passwordEncoder */) {
         this.userRepository = userRepository;
+        this.userExistenceFilter = userExistenceFilter;
+        this.eventPublisher = eventPublisher;
         // this.passwordEncoder = passwordEncoder;
     }
 
@@ -29,14 +42,15 @@ public class AuthService {
 
     /**
      * Creates a preliminary User record for an invited teacher.
-     * The user is initially inactive and needs to complete registration using the token.
+     * The user is initially inactive and completes registration with a signed token
+     * issued by {@link RegistrationTokenService} for the returned user's id.
      * @param email The email address of the teacher to invite.
      * @param fullName The full name of the teacher.
-     * @param token The registration token generated by the controller.
      * @return The saved User entity (without password, inactive).
      */
-    public User createTeacherInvite(String email, String fullName, String token) {
-        if (userRepository.existsByEmail(email)) {
+    public User createTeacherInvite(String email, String fullName) {
+        // The Bloom filter rules out most new emails without a query
+        if (userExistenceFilter.mightContainEmail(email) && userRepository.existsByEmail(email)) {
             // Decide how to handle existing emails (e.g., error, update, ignore)
             // Throwing an error for now to prevent duplicates
             throw new RuntimeException("Email already exists: " + email);
@@ -49,12 +63,52 @@ public class AuthService {
         newUser.setUsername(email); // Using email as username
         newUser.setRole("TEACHER"); // Assign TEACHER role
         newUser.setPassword(null); // No password set initially
-        newUser.setRegistrationToken(token);
         newUser.setActivated(false); // User must complete registration
 
-        return userRepository.save(newUser);
+        try {
+            return userRepository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            // Invited concurrently (here or on another instance) after the check above
+            throw new RuntimeException("Email already exists: " + email);
+        }
+    }
+
+    /**
+     * Sets the password of an invited teacher and activates the account.
+     * The caller must already have verified the registration token (which yields the user id).
+     * @param userId The user id taken from a verified registration token.
+     * @param encodedPassword The already hashed password.
+     * @return The activated User entity.
+     */
+    @Transactional
+    public User completeTeacherRegistration(Long userId, String encodedPassword) {
+        // Tokens stay valid until they expire, so only a still-pending invite may be completed; a read-then-save
+        // would let two concurrent completions both pass the check
+        if (userRepository.activatePendingInvite(userId, encodedPassword) == 0) {
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("Invitation no longer exists");
+            }
+            throw new RuntimeException("Invitation has already been used");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Invitation no longer exists"));
+        // The update bypassed the entity listener, which the caches rely on
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail(), user.getAccountUsername(), ChangeType.UPDATED));
+        return user;
     }
 
+    /**
+     * Deactivates a user account. The entity listener on {@link User} evicts any cached principal,
+     * so the user loses access to teacher endpoints immediately rather than after the cache TTL.
+     * @param userId The ID of the user to deactivate.
+     * @return The updated User entity.
+     */
+    public User deactivateUser(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        user.setActivated(false);
+        return userRepository.save(user);
+    }
 
     public UserDTO convertToDTO(User user) {
         // Ensure UserDTO constructor/setters match fields
@@ -66,8 +120,4 @@ public class AuthService {
                 user.getEmail()
         );
     }
-
-    // Placeholder for future methods if needed:
-    // public User findByRegistrationToken(String token) { ... }
-    // public User completeTeacherRegistration(String token, String password) { ... }
 }
\ No newline at end of file
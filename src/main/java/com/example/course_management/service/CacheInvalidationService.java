@@ -0,0 +1,188 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.config.TenantRegistry;
+import com.example.course_management.entity.CacheInvalidation;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.CacheInvalidationEvent;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.event.UserChangedEvent;
+import com.example.course_management.repository.CacheInvalidationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cross-instance cache invalidation without a message broker. Every course, absence request and user write
+ * appends a row to {@code cache_invalidations} in the writing transaction; each instance polls the table every
+ * {@code cache-invalidation.poll-interval} and republishes other instances' rows as a
+ * {@link CacheInvalidationEvent}, which the in-process caches listen to. Staleness is bounded by the poll interval.
+ * <p>
+ * As with the change feed, ids are assigned at insert but transactions commit in any order, so the cursor only
+ * moves past rows older than {@code cache-invalidation.settle-lag}; newer rows are re-read on every poll and
+ * applied once. The lag must exceed the longest write transaction plus the clock skew between instances.
+ * <p>
+ * Each tenant database has its own table, so the poller keeps one cursor per tenant.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private final Logger logger = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TenantRegistry tenantRegistry;
+    private final boolean enabled;
+    private final Duration settleLag;
+    private final int maxRowsPerPoll;
+
+    // Identifies this process, so an instance skips its own rows (it was notified in-process)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Serializes polls; ReentrantLock rather than synchronized, since a poll queries the database and must not pin
+    // a virtual thread while it waits
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    // Poller state per tenant, only touched under pollLock; no cursor until the tenant's first poll
+    private final Map<String, Long> cursors = new HashMap<>();
+    private final Map<String, Set<Long>> appliedAfterCursor = new HashMap<>();
+
+    @Value("${cache-invalidation.retention:1h}")
+    private Duration retention;
+
+    public CacheInvalidationService(CacheInvalidationRepository cacheInvalidationRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    TenantRegistry tenantRegistry,
+                                    @Value("${cache-invalidation.enabled:true}") boolean enabled,
+                                    @Value("${cache-invalidation.settle-lag:5s}") Duration settleLag,
+                                    @Value("${cache-invalidation.max-rows-per-poll:1000}") int maxRowsPerPoll) {
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.eventPublisher = eventPublisher;
+        this.tenantRegistry = tenantRegistry;
+        this.enabled = enabled;
+        this.settleLag = settleLag;
+        this.maxRowsPerPoll = maxRowsPerPoll;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        append(CacheInvalidation.EntityType.COURSE, event.courseId(), event.changeType());
+    }
+
+    // No cache holds single absence requests, only whole lists: one collection-wide row per transaction
+    // keeps group commits and archival batches from writing a row per request
+    @EventListener
+    public void onAbsenceRequestChanged(AbsenceRequestChangedEvent event) {
+        append(CacheInvalidation.EntityType.ABSENCE_REQUEST, null, event.changeType());
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        append(CacheInvalidation.EntityType.USER, event.userId(), event.changeType());
+    }
+
+    @Scheduled(fixedDelayString = "${cache-invalidation.poll-interval:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        pollLock.lock();
+        try {
+            tenantRegistry.forEachTenant(this::pollCurrentTenant);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    // Events are published with the tenant current, so listeners evict that tenant's entries
+    private void pollCurrentTenant() {
+        String tenantId = TenantContext.getTenantId();
+        Long cursor = cursors.get(tenantId);
+        if (cursor == null) {
+            // Caches start empty, so rows written before this instance started are irrelevant
+            Long latest = cacheInvalidationRepository.findLatestId();
+            cursors.put(tenantId, latest != null ? latest : 0L);
+            return;
+        }
+        Set<Long> applied = appliedAfterCursor.computeIfAbsent(tenantId, id -> new HashSet<>());
+        List<CacheInvalidation> rows = cacheInvalidationRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor, PageRequest.of(0, maxRowsPerPoll));
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settleLag);
+        boolean settled = true;
+        int published = 0;
+        for (CacheInvalidation row : rows) {
+            if (!nodeId.equals(row.getNodeId()) && applied.add(row.getId())) {
+                eventPublisher.publishEvent(new CacheInvalidationEvent(row.getEntityType(), row.getEntityId(), row.getChangeType()));
+                published++;
+            }
+            settled = settled && row.getCreatedAt().isBefore(settledBefore);
+            if (settled) {
+                cursor = row.getId();
+            }
+        }
+        long settledCursor = cursor;
+        cursors.put(tenantId, settledCursor);
+        applied.removeIf(id -> id <= settledCursor);
+        if (published > 0) {
+            logger.debug("Applied {} cache invalidations from other instances for tenant {}", published, tenantId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache-invalidation.purge-interval:600000}")
+    public void purgeExpired() {
+        tenantRegistry.forEachTenant(() -> {
+            int purged = cacheInvalidationRepository.deleteByCreatedAtBefore(LocalDateTime.now().minus(retention));
+            if (purged > 0) {
+                logger.debug("Purged {} cache invalidations older than {} for tenant {}", purged, retention, TenantContext.getTenantId());
+            }
+        });
+    }
+
+    private void append(CacheInvalidation.EntityType entityType, Long entityId, ChangeType changeType) {
+        if (enabled && firstInTransaction(entityType + ":" + entityId)) {
+            cacheInvalidationRepository.append(entityType, entityId, changeType, nodeId);
+        }
+    }
+
+    // Several writes to the same row (or collection) in one transaction need a single invalidation
+    @SuppressWarnings("unchecked")
+    private boolean firstInTransaction(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return true;
+        }
+        Set<String> appended = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (appended == null) {
+            appended = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, appended);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(CacheInvalidationService.this);
+                }
+            });
+        }
+        return appended.add(key);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.config.TenantRegistry;
+import com.example.course_management.dto.ChangeDTO;
+import com.example.course_management.dto.ChangeFeedDTO;
+import com.example.course_management.entity.ChangeLogEntry;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.repository.ChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only change log for courses and absence requests, read as an incremental feed.
+ * <p>
+ * Entries are inserted by a plain {@link EventListener}, i.e. inside the writing transaction, so a change is
+ * logged if and only if it commits. Identity values are handed out at insert time but transactions commit in
+ * any order, so a reader could see cursor 11 before 10 commits and skip 10 forever. The feed therefore reads in
+ * id order and stops at the first entry younger than {@code change-feed.settle-lag}, which must exceed the longest
+ * write transaction. Entries are stamped with the database clock and the settle cutoff is read from it too, so
+ * neither the instances' clocks nor their time zones need to agree with the database.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final TenantRegistry tenantRegistry;
+    private final Duration settleLag;
+    private final int maxPageSize;
+
+    @Value("${change-feed.retention-days:30}")
+    private int retentionDays;
+
+    public ChangeFeedService(ChangeLogRepository changeLogRepository,
+                             TenantRegistry tenantRegistry,
+                             @Value("${change-feed.settle-lag:2s}") Duration settleLag,
+                             @Value("${change-feed.max-page-size:500}") int maxPageSize) {
+        this.changeLogRepository = changeLogRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.settleLag = settleLag;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        append(ChangeLogEntry.EntityType.COURSE, event.courseId(), event.changeType(), event.teacherId(), event.newStatus());
+    }
+
+    @EventListener
+    public void onAbsenceRequestChanged(AbsenceRequestChangedEvent event) {
+        append(ChangeLogEntry.EntityType.ABSENCE_REQUEST, event.requestId(), event.changeType(), event.teacherId(), event.newStatus());
+    }
+
+    /**
+     * Changes after {@code since}, oldest first. Start with {@code since = 0}.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO getChanges(ChangeLogEntry.EntityType entityType, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        // A cursor below the oldest retained entry may have missed purged changes
+        Long oldestId = changeLogRepository.findOldestId(entityType);
+        boolean resyncRequired = since > 0 && oldestId != null && since < oldestId;
+        long from = resyncRequired ? oldestId - 1 : since;
+
+        LocalDateTime settledBefore = changeLogRepository.findDatabaseTime().minus(settleLag);
+        // One extra row tells whether another page is already waiting
+        List<ChangeLogEntry> entries = changeLogRepository.findByEntityTypeAndIdGreaterThanOrderByIdAsc(
+                entityType, from, PageRequest.of(0, pageSize + 1));
+        // Stop at the first unsettled entry rather than filtering it out: an entry behind it may not have
+        // committed yet, and the cursor must not move past it
+        List<ChangeDTO> changes = new ArrayList<>();
+        boolean hasMore = false;
+        for (ChangeLogEntry entry : entries) {
+            if (!entry.getChangedAt().isBefore(settledBefore)) {
+                break;
+            }
+            if (changes.size() == pageSize) {
+                hasMore = true;
+                break;
+            }
+            changes.add(new ChangeDTO(entry.getId(), entry.getEntityId(), entry.getChangeType(),
+                    entry.getTeacherId(), entry.getStatus(), entry.getChangedAt()));
+        }
+        long nextCursor = changes.isEmpty() ? from : changes.get(changes.size() - 1).cursor();
+        return new ChangeFeedDTO(changes, nextCursor, hasMore, resyncRequired);
+    }
+
+    @Scheduled(cron = "${change-feed.purge-cron:0 15 3 * * *}")
+    public void purgeExpired() {
+        // The delete runs in its own transaction: one opened here would be bound to the default tenant's pool
+        tenantRegistry.forEachTenant(() -> {
+            int purged = changeLogRepository.deleteByChangedAtBefore(LocalDateTime.now().minusDays(retentionDays));
+            if (purged > 0) {
+                logger.info("Purged {} change log entries older than {} days for tenant {}", purged, retentionDays, TenantContext.getTenantId());
+            }
+        });
+    }
+
+    private void append(ChangeLogEntry.EntityType entityType, Long entityId,
+                        ChangeType changeType, Long teacherId, String status) {
+        if (entityId == null) {
+            return;
+        }
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setEntityType(entityType);
+        entry.setEntityId(entityId);
+        entry.setChangeType(changeType);
+        entry.setTeacherId(teacherId);
+        entry.setStatus(status);
+        changeLogRepository.save(entry);
+    }
+}
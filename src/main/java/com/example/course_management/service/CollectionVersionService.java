@@ -0,0 +1,118 @@
+package com.example.course_management.service;
+
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.CacheInvalidationEvent;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.event.UserChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version per logical collection, used to build strong ETags so polling clients get
+ * a 304 without the list being queried or serialized again.
+ * <p>
+ * Every write bumps the version twice: once inside the transaction and once after commit. A reader
+ * that loads the old rows in between is tagged with the intermediate version, which the post-commit
+ * bump then invalidates, so a client can never keep a pre-commit list under the final ETag.
+ * <p>
+ * Versions live in this instance only. Every ETag carries a random per-instance epoch, so a tag issued by one
+ * instance never matches on another: a client that moves between instances gets a full 200, never a stale 304.
+ * Revalidation therefore only pays off with sticky routing (or a single instance); writes committed elsewhere
+ * still reach this instance's versions through {@link CacheInvalidationEvent}.
+ */
+@Service
+public class CollectionVersionService {
+
+    public enum Collection { COURSES, ABSENCE_REQUESTS }
+
+    // Distinguishes instances and restarts, so a version number never repeats with different content
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final Map<Collection, AtomicLong> versions = new EnumMap<>(Collection.class);
+
+    public CollectionVersionService() {
+        for (Collection collection : Collection.values()) {
+            versions.put(collection, new AtomicLong());
+        }
+    }
+
+    public long current(Collection collection) {
+        return versions.get(collection).get();
+    }
+
+    public void bump(Collection collection) {
+        versions.get(collection).incrementAndGet();
+    }
+
+    /**
+     * @param variant identifies the endpoint/filter, so different lists never share an ETag
+     * @return a quoted strong ETag value
+     */
+    public String etag(String variant, Collection collection) {
+        return "\"" + variant + "-" + epoch + "-" + current(collection) + "\"";
+    }
+
+    @EventListener
+    public void onCourseChanging(CourseChangedEvent event) {
+        bumpForCourse();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        bumpForCourse();
+    }
+
+    @EventListener
+    public void onAbsenceRequestChanging(AbsenceRequestChangedEvent event) {
+        bump(Collection.ABSENCE_REQUESTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAbsenceRequestChanged(AbsenceRequestChangedEvent event) {
+        bump(Collection.ABSENCE_REQUESTS);
+    }
+
+    // Teacher names are embedded in both course and absence request lists
+    @EventListener
+    public void onUserChanging(UserChangedEvent event) {
+        bumpForUser(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        bumpForUser(event);
+    }
+
+    // Writes committed by another instance, already settled there
+    @EventListener
+    public void onRemoteChange(CacheInvalidationEvent event) {
+        switch (event.entityType()) {
+            case COURSE -> bumpForCourse();
+            case ABSENCE_REQUEST -> bump(Collection.ABSENCE_REQUESTS);
+            case USER -> bumpForUser(event.changeType());
+        }
+    }
+
+    private void bumpForUser(UserChangedEvent event) {
+        bumpForUser(event.changeType());
+    }
+
+    private void bumpForCourse() {
+        bump(Collection.COURSES);
+        // Absence request lists embed the course name, which a rename changes
+        bump(Collection.ABSENCE_REQUESTS);
+    }
+
+    private void bumpForUser(ChangeType changeType) {
+        if (changeType != ChangeType.CREATED) {
+            bump(Collection.COURSES);
+            bump(Collection.ABSENCE_REQUESTS);
+        }
+    }
+}
@@ -1,25 +1,44 @@
 package com.example.course_management.service;
 
+import com.example.course_management.config.TenantContext;
 import com.example.course_management.dto.CourseDTO;
 import com.example.course_management.entity.Course;
 import com.example.course_management.repository.CourseRepository;
 import com.example.course_management.repository.UserRepository;
 import com.example.course_management.entity.User;
+import com.example.course_management.event.Actor;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.event.UserChangedEvent;
+import com.example.course_management.util.SingleFlight;
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+// Every public method is timed as service.calls{class,method} (see management.observations.annotations.enabled)
+@Timed(value = "service.calls", histogram = true)
 @Service
 public class CourseService {
     private final EmailService emailService;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
-
-    public CourseService(CourseRepository courseRepository, EmailService emailService, UserRepository userRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    // Concurrent identical list reads (e.g. /courses/approved right after a broadcast email) share one query.
+    // Keys are tenant-scoped: "approved" names different rows in each tenant's database.
+    // Every caller gets the same list instance, so loaders return unmodifiable lists (Stream.toList)
+    private final SingleFlight<String, List<CourseDTO>> listReads = new SingleFlight<>();
+
+    public CourseService(CourseRepository courseRepository, EmailService emailService, UserRepository userRepository,
+                         ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
         this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
     }
 
     public CourseDTO convertToDTO(Course course) {
@@ -47,9 +66,9 @@ public class CourseService {
     }
 
     public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll().stream()
+        return listReads.execute(TenantContext.scoped("all"), () -> courseRepository.findAll().stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .toList());
     }
 
     public CourseDTO getCourseById(Long id) {
@@ -62,7 +81,9 @@ public class CourseService {
         if (course.getTeacher() == null) {
             throw new RuntimeException("Teacher must be assigned to the course");
         }
+        boolean isNew = course.getId() == null;
         Course savedCourse = courseRepository.save(course);
+        publishChange(savedCourse, isNew ? ChangeType.CREATED : ChangeType.UPDATED, null);
         // Trigger notification if a new MAKEUP course is directly saved with APPROVED status
         if ("MAKEUP".equals(savedCourse.getType()) && "APPROVED".equals(savedCourse.getStatus())) {
              notifyStudentsAboutApprovedMakeup(savedCourse);
@@ -70,8 +91,13 @@ public class CourseService {
         return savedCourse;
     }
 
+    @Transactional
     public void deleteCourse(Long id) {
-        courseRepository.deleteById(id);
+        courseRepository.findById(id).ifPresent(course -> {
+            courseRepository.delete(course);
+            eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), teacherIdOf(course), ChangeType.DELETED, course.getStatus(), null,
+                    Actor.current()));
+        });
     }
 
     // Modified updateCourseStatus to potentially trigger notification if status changes to APPROVED
@@ -84,6 +110,7 @@ public class CourseService {
 
         course.setStatus(status);
         Course updatedCourse = courseRepository.save(course);
+        publishChange(updatedCourse, ChangeType.UPDATED, oldStatus);
 
         // Notify students if a MAKEUP course status changes to APPROVED
         if ("MAKEUP".equals(updatedCourse.getType()) && "APPROVED".equals(updatedCourse.getStatus()) && !"APPROVED".equals(oldStatus)) {
@@ -93,16 +120,24 @@ public class CourseService {
         return convertToDTO(updatedCourse);
     }
 
+    /**
+     * Sparse-fieldset variant of the course lists: only the requested {@code CourseDTO} fields are selected
+     * and returned ({@code id} always is). Filters are optional.
+     */
+    public List<Map<String, Object>> getCourseFields(Collection<String> fields, Long teacherId, String status) {
+        return courseRepository.findFields(fields, teacherId, status);
+    }
+
     public List<CourseDTO> getApprovedCourses() {
-        return courseRepository.findByStatus("APPROVED").stream()
+        return listReads.execute(TenantContext.scoped("approved"), () -> courseRepository.findByStatus("APPROVED").stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .toList());
     }
 
     public List<CourseDTO> getCoursesByTeacher(Long teacherId) {
-        return courseRepository.findByTeacherId(teacherId).stream()
+        return listReads.execute(TenantContext.scoped("teacher:" + teacherId), () -> courseRepository.findByTeacherId(teacherId).stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .toList());
     }
 
     // Propose a makeup course (for TEACHERS) - Admin approval required later
@@ -110,14 +145,17 @@ public class CourseService {
     public Course proposeMakeupCourse(Course course) {
         course.setType("MAKEUP");
         course.setStatus("PENDING"); // Initially PENDING, requires Admin approval
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        publishChange(savedCourse, ChangeType.CREATED, null);
+        return savedCourse;
     }
 
     // --- Methods for Teacher handling Admin Proposals ---
     public List<CourseDTO> getPendingTeacherApprovalCourses(Long teacherId) {
-        return courseRepository.findByTeacherIdAndStatus(teacherId, "PENDING_TEACHER_APPROVAL").stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return listReads.execute(TenantContext.scoped("pending-teacher-approval:" + teacherId), () ->
+                courseRepository.findByTeacherIdAndStatus(teacherId, "PENDING_TEACHER_APPROVAL").stream()
+                        .map(this::convertToDTO)
+                        .toList());
     }
 
     // This method is for teachers approving a makeup course *proposed by admin*
@@ -144,6 +182,7 @@ public class CourseService {
         String oldStatus = course.getStatus(); // Get old status
         course.setStatus("APPROVED");
         Course savedCourse = courseRepository.save(course);
+        publishChange(savedCourse, ChangeType.UPDATED, oldStatus);
 
         // Notify students if status changed to APPROVED for a MAKEUP course
         if ("MAKEUP".equals(savedCourse.getType()) && "APPROVED".equals(savedCourse.getStatus()) && !"APPROVED".equals(oldStatus)) {
@@ -169,11 +208,35 @@ public class CourseService {
              throw new RuntimeException("Course is not a makeup course.");
          }
 
+        String oldStatus = course.getStatus();
         course.setStatus("REJECTED_BY_TEACHER");
         Course savedCourse = courseRepository.save(course);
+        publishChange(savedCourse, ChangeType.UPDATED, oldStatus);
         return convertToDTO(savedCourse);
     }
 
+    // Listeners (ETag versions, ...) react to course writes through this event
+    private void publishChange(Course course, ChangeType changeType, String oldStatus) {
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), teacherIdOf(course), changeType, oldStatus, course.getStatus(),
+                Actor.current()));
+    }
+
+    // A read already in flight may predate the commit; later callers must not join it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        listReads.forgetAll();
+    }
+
+    // Course DTOs carry the teacher's name and email
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        listReads.forgetAll();
+    }
+
+    private Long teacherIdOf(Course course) {
+        return course.getTeacher() != null ? course.getTeacher().getId() : null;
+    }
+
     private void notifyDirectionAboutTeacherApprovedMakeup(Course course) {
         String teacherName = course.getTeacher() != null ? course.getTeacher().getFullName() : "Unknown Teacher";
         String subject = "Admin-Proposed Makeup Course Approved by Teacher";
@@ -191,21 +254,8 @@ public class CourseService {
         // Notify ALL users with role "STUDENT" as per the clarified requirement
         List<User> students = userRepository.findByRole("STUDENT"); // Get all students by role
 
-        String subject = "Approved Makeup Course Notification";
-        String teacherName = makeupCourse.getTeacher() != null ? makeupCourse.getTeacher().getFullName() : "Unknown Teacher";
-        String timetableDetails = makeupCourse.getTimetable() != null ? makeupCourse.getTimetable() : "Details to follow"; // Assuming getTimetable() exists and works
-
-        String message = String.format(
-            "Dear Student,\n\nA makeup course has been approved:\n\n" +
-            "Course Name: %s\n" +
-            "Teacher: %s\n" +
-            "Schedule: %s\n\n" + // Include timetable details
-            "Please check the platform for more details.\n\n" +
-            "Sincerely,\nThe Course Management Team",
-            makeupCourse.getCourseName(),
-            teacherName,
-            timetableDetails
-        );
+        String subject = NotificationMessages.APPROVED_MAKEUP_SUBJECT;
+        String message = NotificationMessages.approvedMakeupForStudents(makeupCourse);
 
         for (User student : students) {
             if (student.getEmail() != null && !student.getEmail().isEmpty()) {
@@ -214,6 +264,7 @@ public class CourseService {
                 System.out.println("Student " + student.getFullName() + " has no email address to send notification.");
             }
         }
+         emailService.recordFanOut("makeup-approved", students.size());
          System.out.println("Sent approved makeup course notification to " + students.size() + " students."); // Log for debugging
     }
     // --- END NEW METHOD ---
@@ -223,4 +274,9 @@ public class CourseService {
         return userRepository.findByEmail(email).orElse(null);
     }
 
+    public User getUserById(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + id));
+    }
+
 }
\ No newline at end of file
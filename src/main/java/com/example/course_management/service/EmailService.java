@@ -1,39 +1,73 @@
 package com.example.course_management.service;
 
+import com.example.course_management.config.AsyncConfig;
+import com.example.course_management.config.TenantRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.MailException;
-import org.springframework.beans.factory.annotation.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Service
 public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
-    @Value("${direction.email}")
-    private String directionEmail;
-
     private final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
+    private final MeterRegistry meterRegistry;
+    private final TenantRegistry tenantRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public EmailService(MeterRegistry meterRegistry, TenantRegistry tenantRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.tenantRegistry = tenantRegistry;
+        meterRegistry.gauge("email.in_flight", inFlight);
+    }
+
     public void sendInviteEmail(String toEmail, String fullName, String link) {
         String subject = "You're invited to Course Management Platform";
         String text = "Hi " + fullName + ",\n\nYou've been invited to join as a teacher.\nClick the link to set your password: " + link;
-        sendEmail(toEmail, subject, text);
+        sendEmail(toEmail, subject, text, "invite");
+    }
+
+    // Queued on the mail executor; the caller returns before the SMTP round trip
+    @Async(AsyncConfig.MAIL_EXECUTOR)
+    public void queueInviteEmail(String toEmail, String fullName, String link) {
+        sendInviteEmail(toEmail, fullName, link);
     }
 
     public void sendNotification(String toEmail, String subject, String message) {
-        sendEmail(toEmail, subject, message);
+        sendEmail(toEmail, subject, message, "notification");
     }
 
+    // Each institution has its own direction; falls back to direction.email
     public void sendNotificationToDirection(String subject, String message) {
-        sendEmail(directionEmail, subject, message);
+        sendEmail(tenantRegistry.getDirectionEmail(), subject, message, "direction");
+    }
+
+    /**
+     * Records how many recipients one broadcast (e.g. an approved makeup course) was sent to.
+     */
+    public void recordFanOut(String broadcast, int recipients) {
+        DistributionSummary.builder("email.fanout.recipients")
+                .description("Recipients per broadcast notification")
+                .tag("broadcast", broadcast)
+                .register(meterRegistry)
+                .record(recipients);
     }
 
-    private void sendEmail(String to, String subject, String text) {
+    private void sendEmail(String to, String subject, String text, String type) {
+        inFlight.incrementAndGet();
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setTo(to);
@@ -41,9 +75,18 @@ public class EmailService {
             message.setText(text);
             mailSender.send(message);
             logger.info("Email sent successfully to {}", to);
+            meterRegistry.counter("email.sent", "type", type).increment();
         } catch (MailException e) {
             logger.error("Failed to send email to {}: {}", to, e.getMessage());
+            meterRegistry.counter("email.failed", "type", type).increment();
             // Optionally rethrow or handle differently depending on business logic
+        } finally {
+            sample.stop(Timer.builder("email.send")
+                    .description("SMTP round trip per message, successful or not")
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            inFlight.decrementAndGet();
         }
     }
 }
@@ -0,0 +1,122 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-expiring store of {@code Idempotency-Key} to the first successful response.
+ * <p>
+ * Keys are scoped by tenant, caller, method and path, so two users (or two endpoints) never share a key.
+ * Only 2xx responses are stored: a failed attempt leaves nothing behind and the client's retry runs again.
+ * A key whose first request is still executing is reported as in flight, so a fast retry cannot run the
+ * transaction a second time in parallel. Each stored response remembers a {@link #fingerprint} of the request
+ * that produced it, so a key reused for a different request is refused instead of answered with a replay.
+ * Fingerprinting needs the whole body in memory, so bodies over {@code idempotency.max-body-size} are refused.
+ * <p>
+ * The store is in memory and local to this instance. Behind a load balancer without sticky routing, a retry
+ * that lands on another instance is executed again; deployments with several instances must route a caller's
+ * retries to the same instance for the guarantee to hold.
+ */
+@Service
+public class IdempotencyService {
+
+    public record StoredResponse(String fingerprint, int status, String contentType, byte[] body,
+                                 Map<String, String> headers) {
+    }
+
+    public enum Begin { STARTED, IN_FLIGHT }
+
+    private final ExpiringCache<String, StoredResponse> responses;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final List<String> paths;
+    private final int maxBodyBytes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyService(@Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${idempotency.paths:}") List<String> paths,
+                              @Value("${idempotency.max-body-size:64KB}") DataSize maxBodySize) {
+        this.responses = new ExpiringCache<>(ttl, maxEntries);
+        this.paths = paths;
+        this.maxBodyBytes = Math.toIntExact(maxBodySize.toBytes());
+    }
+
+    /**
+     * @return the largest request body, in bytes, that is buffered and fingerprinted
+     */
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * @return whether POSTs to this path honour {@code Idempotency-Key}
+     */
+    public boolean appliesTo(String method, String path) {
+        if (!"POST".equals(method)) {
+            return false;
+        }
+        for (String pattern : paths) {
+            if (pathMatcher.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String scopedKey(String caller, String method, String path, String idempotencyKey) {
+        // The same email can be a different user in another tenant
+        return TenantContext.scoped(caller) + '|' + method + ' ' + path + '|' + idempotencyKey;
+    }
+
+    /**
+     * SHA-256 of the method, path and body, identifying what a key was first used for.
+     */
+    public static String fingerprint(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + ' ' + path + '\n').getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public StoredResponse find(String scopedKey) {
+        return responses.get(scopedKey);
+    }
+
+    /**
+     * Claims the key for execution; the caller must then {@link #complete} or {@link #abandon} it.
+     */
+    public Begin begin(String scopedKey) {
+        return inFlight.add(scopedKey) ? Begin.STARTED : Begin.IN_FLIGHT;
+    }
+
+    public void complete(String scopedKey, StoredResponse response) {
+        // Stored before the claim is released, so a retry never finds neither
+        responses.put(scopedKey, response);
+        inFlight.remove(scopedKey);
+    }
+
+    public void abandon(String scopedKey) {
+        inFlight.remove(scopedKey);
+    }
+
+    public int size() {
+        return responses.size();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.JwtProperties;
+import com.example.course_management.config.SecurityConfig;
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Issues and verifies signed access/refresh tokens.
+ * Verification only needs the configured keys: no database or session lookup.
+ * Tokens are only valid for the tenant they were issued under.
+ */
+@Service
+public class JwtService {
+
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+    public static final String TOKEN_TYPE_STREAM = "stream";
+
+    static final String CLAIM_TYPE = "typ";
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TENANT = "tid";
+
+    private final JwtProperties properties;
+    private final Map<String, SecretKey> keys = new HashMap<>();
+    private final SecretKey activeKey;
+
+    public JwtService(JwtProperties properties, @Value("${auth.mode:session}") String authMode) {
+        this.properties = properties;
+        if (properties.keys() != null) {
+            properties.keys().forEach((id, secret) -> {
+                if (isSet(secret)) {
+                    keys.put(id, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)));
+                }
+            });
+        }
+        this.activeKey = keys.get(properties.activeKeyId());
+        // Session mode never issues or verifies tokens, so it may run without a key; jwt mode must not start without one
+        if (activeKey == null && SecurityConfig.AUTH_MODE_JWT.equals(authMode)) {
+            throw new IllegalStateException("auth.mode=jwt needs a signing key: set jwt.keys." + properties.activeKeyId()
+                    + " (JWT_KEY_K1 in the default configuration)");
+        }
+    }
+
+    // An unset environment variable leaves the placeholder text itself in the bound map
+    private static boolean isSet(String secret) {
+        return secret != null && !secret.isBlank() && !secret.startsWith("${");
+    }
+
+    public String issueAccessToken(User user) {
+        return issue(user, TOKEN_TYPE_ACCESS, properties.accessTokenTtl().toSeconds());
+    }
+
+    public String issueRefreshToken(User user) {
+        return issue(user, TOKEN_TYPE_REFRESH, properties.refreshTokenTtl().toSeconds());
+    }
+
+    public long getAccessTokenTtlSeconds() {
+        return properties.accessTokenTtl().toSeconds();
+    }
+
+    /**
+     * Re-issues an authenticated caller's identity as a short-lived ticket for an event stream URL: a browser's
+     * EventSource cannot send an Authorization header. Only the stream endpoint accepts it.
+     */
+    public String issueStreamTicket(Authentication authentication) {
+        Long userId = authentication.getDetails() instanceof Long id ? id : null;
+        return issue(authentication.getName(), userId, firstAuthority(authentication.getAuthorities()),
+                TOKEN_TYPE_STREAM, properties.streamTicketTtl().toSeconds());
+    }
+
+    public long getStreamTicketTtlSeconds() {
+        return properties.streamTicketTtl().toSeconds();
+    }
+
+    /**
+     * Verifies signature, issuer, expiry, token type and tenant.
+     * @throws JwtException if the token is invalid for any reason.
+     */
+    public Claims parse(String token, String expectedType) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        SecretKey key = keys.get(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireIssuer(properties.issuer())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+
+        if (!expectedType.equals(claims.get(CLAIM_TYPE, String.class))) {
+            throw new JwtException("Unexpected token type");
+        }
+        // Ids and emails repeat across tenants, so a token must not authenticate against another tenant's users.
+        // Tokens from before tenancy carry no tenant and belong to the default one
+        String tenantId = claims.get(CLAIM_TENANT, String.class);
+        if (!TenantContext.getTenantId().equals(tenantId != null ? tenantId : TenantContext.DEFAULT_TENANT)) {
+            throw new JwtException("Token issued for another tenant");
+        }
+        return claims;
+    }
+
+    public Long getUserId(Claims claims) {
+        return claims.get(CLAIM_USER_ID, Long.class);
+    }
+
+    public String getRole(Claims claims) {
+        return claims.get(CLAIM_ROLE, String.class);
+    }
+
+    private String issue(User user, String type, long ttlSeconds) {
+        return issue(user.getEmail(), user.getId(), firstAuthority(user.getAuthorities()), type, ttlSeconds);
+    }
+
+    // Store the role exactly as Spring Security sees it (with the ROLE_ prefix)
+    private static String firstAuthority(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String issue(String subject, Long userId, String role, String type, long ttlSeconds) {
+        if (activeKey == null) {
+            throw new IllegalStateException("No JWT signing key configured");
+        }
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, properties.activeKeyId())
+                .setIssuer(properties.issuer())
+                .setSubject(subject)
+                .claim(CLAIM_TYPE, type)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_TENANT, TenantContext.getTenantId())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(ttlSeconds)))
+                .signWith(activeKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.course_management.service;
+
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.Course;
+
+/**
+ * Bodies of the broadcast emails sent to every student. Kept free of Spring and repositories
+ * so they can be benchmarked on their own (see the benchmarks module).
+ */
+public final class NotificationMessages {
+
+    public static final String APPROVED_MAKEUP_SUBJECT = "Approved Makeup Course Notification";
+    public static final String APPROVED_ABSENCE_SUBJECT = "Absence Request Approved";
+
+    private NotificationMessages() {
+    }
+
+    public static String approvedMakeupForStudents(Course makeupCourse) {
+        String teacherName = makeupCourse.getTeacher() != null ? makeupCourse.getTeacher().getFullName() : "Unknown Teacher";
+        String timetableDetails = makeupCourse.getTimetable() != null ? makeupCourse.getTimetable() : "Details to follow";
+
+        return String.format(
+            "Dear Student,\n\nA makeup course has been approved:\n\n" +
+            "Course Name: %s\n" +
+            "Teacher: %s\n" +
+            "Schedule: %s\n\n" + // Include timetable details
+            "Please check the platform for more details.\n\n" +
+            "Sincerely,\nThe Course Management Team",
+            makeupCourse.getCourseName(),
+            teacherName,
+            timetableDetails
+        );
+    }
+
+    public static String approvedAbsenceForStudents(AbsenceRequest approvedRequest) {
+        String teacherName = approvedRequest.getTeacher() != null ? approvedRequest.getTeacher().getFullName() : "Unknown Teacher";
+        String courseName = approvedRequest.getCourse() != null ? approvedRequest.getCourse().getCourseName() : "Unknown Course";
+        String justification = approvedRequest.getJustification() != null ? approvedRequest.getJustification() : "No justification provided.";
+
+        return String.format(
+            "Dear Student,\n\nAn absence request has been approved:\n\n" +
+            "Teacher: %s\n" +
+            "Course: %s\n" +
+            "Justification: %s\n\n" +
+            "Please check the course schedule for potential impacts or makeup information.\n\n" +
+            "Sincerely,\nThe Course Management Team",
+            teacherName,
+            courseName,
+            justification
+        );
+    }
+}
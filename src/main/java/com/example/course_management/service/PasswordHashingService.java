@@ -0,0 +1,114 @@
+package com.example.course_management.service;
+
+import com.example.course_management.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs adaptive password hashing (BCrypt) on a dedicated, bounded pool.
+ * <p>
+ * The calling request thread waits for its hash (up to {@code password-hashing.timeout}), so every hash running
+ * or queued holds a Tomcat worker. Pool plus queue are therefore capped at a quarter of
+ * {@code server.tomcat.threads.max}: during a login storm further logins are rejected at once with
+ * {@link ServiceOverloadedException} (503) while the other three quarters keep serving the rest of the API.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final int maxWaitingCallers;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${password-hashing.threads:0}") int threads,
+                                  @Value("${password-hashing.queue-capacity:0}") int queueCapacity,
+                                  @Value("${server.tomcat.threads.max:200}") int requestThreads,
+                                  @Value("${password-hashing.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeout.toMillis();
+        int callerLimit = Math.max(2, requestThreads / 4);
+        // Hashing is pure CPU: by default one thread per core, more would only add context switches
+        int poolSize = Math.min(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), callerLimit - 1);
+        int queueLimit = callerLimit - poolSize;
+        int capacity = queueCapacity > 0 ? Math.min(queueCapacity, queueLimit) : queueLimit;
+        this.maxWaitingCallers = poolSize + capacity;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // True for legacy plaintext rows and hashes made with an outdated cost factor
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    // Request threads that can be waiting on a hash at once
+    public int getMaxWaitingCallers() {
+        return maxWaitingCallers;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException("Too many concurrent logins, please retry shortly", 1);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceOverloadedException("Password check timed out, please retry shortly", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
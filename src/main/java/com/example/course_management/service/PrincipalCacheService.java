@@ -0,0 +1,75 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.dto.AuthenticatedPrincipal;
+import com.example.course_management.entity.CacheInvalidation;
+import com.example.course_management.entity.User;
+import com.example.course_management.event.CacheInvalidationEvent;
+import com.example.course_management.event.UserChangedEvent;
+import com.example.course_management.repository.UserRepository;
+import com.example.course_management.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Short-TTL cache of authenticated principals keyed by tenant and email.
+ * Entries are evicted on every {@link UserChangedEvent} and on user changes made by other instances
+ * ({@link CacheInvalidationEvent}), and expire after {@code principal-cache.ttl} regardless.
+ */
+@Service
+public class PrincipalCacheService {
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, AuthenticatedPrincipal> cache;
+
+    public PrincipalCacheService(UserRepository userRepository,
+                                 @Value("${principal-cache.ttl:60s}") Duration ttl,
+                                 @Value("${principal-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.cache = new ExpiringCache<>(ttl, maxEntries);
+    }
+
+    /**
+     * @return the active user's principal, or {@code null} if no activated user has this email.
+     */
+    public AuthenticatedPrincipal resolve(String email) {
+        return cache.getOrLoad(TenantContext.scoped(email), key -> userRepository.findByEmail(email)
+                .filter(User::isActivated)
+                .map(user -> new AuthenticatedPrincipal(user.getId(), user.getEmail(), user.getRole(), user.getFullName()))
+                .orElse(null));
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId(), event.email());
+    }
+
+    // Evict again once committed, in case a concurrent reader re-cached the pre-commit row
+    @TransactionalEventListener
+    public void onUserChangeCommitted(UserChangedEvent event) {
+        evict(event.userId(), event.email());
+    }
+
+    // Only the id is known for a change made elsewhere; that also covers the old email
+    @EventListener
+    public void onRemoteChange(CacheInvalidationEvent event) {
+        if (event.entityType() == CacheInvalidation.EntityType.USER) {
+            evict(event.entityId(), null);
+        }
+    }
+
+    public void evict(Long userId, String email) {
+        if (email != null) {
+            cache.invalidate(TenantContext.scoped(email));
+        }
+        // Also catches the entry cached under a previous email address. Ids repeat across tenants, so this may
+        // evict another tenant's entry too, which only costs a reload
+        if (userId != null) {
+            cache.invalidateValues(principal -> userId.equals(principal.id()));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.RateLimitProperties;
+import com.example.course_management.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the per-client token buckets and the in-flight counter used by {@code RateLimitFilter}.
+ * Buckets live in a ConcurrentHashMap (internally lock-striped) and are themselves lock-free;
+ * idle buckets are swept periodically so memory stays proportional to active clients.
+ */
+@Service
+public class RateLimiterService {
+
+    public enum Decision { ALLOWED, RATE_LIMITED, SHED }
+
+    public record Result(Decision decision, String group, long retryAfterSeconds) {
+    }
+
+    private final RateLimitProperties properties;
+    private final int maxInFlight;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+
+    public RateLimiterService(RateLimitProperties properties, MeterRegistry meterRegistry,
+                              @Value("${server.tomcat.threads.max:200}") int requestThreads) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        // In-flight requests each hold a Tomcat worker, so a limit at or above the worker count could never be
+        // reached: by default shed once three quarters of the workers are busy, keeping the rest to answer quickly
+        this.maxInFlight = properties.maxInFlight() > 0 ? properties.maxInFlight() : Math.max(1, requestThreads * 3 / 4);
+        Gauge.builder("rate_limiter.buckets", buckets, Map::size)
+                .description("Active per-client token buckets")
+                .register(meterRegistry);
+        Gauge.builder("rate_limiter.in_flight", inFlight, AtomicInteger::get)
+                .description("Requests currently being processed")
+                .register(meterRegistry);
+        Gauge.builder("rate_limiter.max_in_flight", this, RateLimiterService::getMaxInFlight)
+                .description("In-flight limit above which requests are shed")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Reserves an in-flight slot and a token for the request. When ALLOWED is returned the caller
+     * must call {@link #release()} once the request completes.
+     */
+    public Result acquire(String path, String clientKey, String role) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            count("shed", "none");
+            return new Result(Decision.SHED, null, 1);
+        }
+
+        String groupName = findGroup(path);
+        if (groupName != null) {
+            RateLimitProperties.Group group = properties.groups().get(groupName);
+            RateLimitProperties.Quota quota = quotaFor(group, role);
+            long now = System.nanoTime();
+            TokenBucket bucket = buckets.computeIfAbsent(groupName + '|' + clientKey,
+                    key -> new TokenBucket(quota.capacity(), quota.refillPerSecond(), now));
+            long waitNanos = bucket.tryAcquire(now);
+            if (waitNanos > 0) {
+                inFlight.decrementAndGet();
+                count("rejected", groupName);
+                return new Result(Decision.RATE_LIMITED, groupName, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos)));
+            }
+        }
+        count("allowed", groupName != null ? groupName : "none");
+        return new Result(Decision.ALLOWED, groupName, 0);
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:60000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    // The most specific matching pattern wins, whatever order the groups were bound in, so a catch-all such as
+    // /** only takes the paths no other group matches
+    String findGroup(String path) {
+        Map<String, RateLimitProperties.Group> groups = properties.groups() != null ? properties.groups() : Collections.emptyMap();
+        Comparator<String> specificity = pathMatcher.getPatternComparator(path);
+        String bestGroup = null;
+        String bestPattern = null;
+        for (Map.Entry<String, RateLimitProperties.Group> entry : groups.entrySet()) {
+            for (String pattern : entry.getValue().paths()) {
+                if (pathMatcher.match(pattern, path) && (bestPattern == null || specificity.compare(pattern, bestPattern) < 0)) {
+                    bestGroup = entry.getKey();
+                    bestPattern = pattern;
+                }
+            }
+        }
+        return bestGroup;
+    }
+
+    private RateLimitProperties.Quota quotaFor(RateLimitProperties.Group group, String role) {
+        if (role != null && group.roleQuotas() != null) {
+            String roleKey = (role.startsWith("ROLE_") ? role.substring(5) : role).toLowerCase();
+            RateLimitProperties.Quota roleQuota = group.roleQuotas().get(roleKey);
+            if (roleQuota != null) {
+                return roleQuota;
+            }
+        }
+        return group.quota();
+    }
+
+    private void count(String outcome, String group) {
+        Counter.builder("rate_limiter.requests")
+                .tag("outcome", outcome)
+                .tag("group", group)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Self-validating invite tokens of the form {@code <userId>.<issuedAtEpochSeconds>.<HMAC-SHA256>}.
+ * Forged, tampered or expired tokens are rejected without touching the database; a valid token
+ * resolves its user by primary key. Single use is enforced by the account state (only inactive
+ * users without a password can complete registration).
+ * <p>
+ * The signature also covers the issuing tenant, so a link cannot activate the user with the same id in
+ * another tenant. The default tenant signs the bare payload, which keeps links sent before tenancy valid.
+ */
+@Service
+public class RegistrationTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAX_TOKEN_LENGTH = 128;
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public RegistrationTokenService(@Value("${registration-token.secret:}") String secret,
+                                    @Value("${registration-token.ttl:7d}") Duration ttl) {
+        // Whoever knows the secret can activate any pending invite, so it only ever comes from the environment.
+        // Without it the application still starts (nothing else needs it); issuing or verifying an invite fails
+        this.key = isSet(secret) ? new SecretKeySpec(Base64.getDecoder().decode(secret), ALGORITHM) : null;
+        this.ttl = ttl;
+    }
+
+    // An unset environment variable resolves to the empty default, or to the placeholder text itself
+    private static boolean isSet(String secret) {
+        return secret != null && !secret.isBlank() && !secret.startsWith("${");
+    }
+
+    public String issue(Long userId) {
+        return issue(userId, Instant.now());
+    }
+
+    String issue(Long userId, Instant issuedAt) {
+        String payload = userId + "." + issuedAt.getEpochSecond();
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(tenantBound(payload)));
+    }
+
+    /**
+     * @return the user id if the token is authentic and not expired, otherwise empty.
+     */
+    public Optional<Long> verify(String token) {
+        return verify(token, Instant.now());
+    }
+
+    Optional<Long> verify(String token, Instant now) {
+        if (token == null || token.length() > MAX_TOKEN_LENGTH) {
+            return Optional.empty();
+        }
+        int signatureStart = token.lastIndexOf('.');
+        int issuedAtStart = token.indexOf('.');
+        if (issuedAtStart <= 0 || signatureStart <= issuedAtStart) {
+            return Optional.empty();
+        }
+
+        String payload = token.substring(0, signatureStart);
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        // Constant-time comparison, so timing does not leak how much of a forged signature matched
+        if (!MessageDigest.isEqual(sign(tenantBound(payload)), signature)) {
+            return Optional.empty();
+        }
+
+        try {
+            long userId = Long.parseLong(token.substring(0, issuedAtStart));
+            long issuedAt = Long.parseLong(token.substring(issuedAtStart + 1, signatureStart));
+            if (Instant.ofEpochSecond(issuedAt).plus(ttl).isBefore(now)) {
+                return Optional.empty();
+            }
+            return Optional.of(userId);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String tenantBound(String payload) {
+        String tenantId = TenantContext.getTenantId();
+        return TenantContext.DEFAULT_TENANT.equals(tenantId) ? payload : tenantId + "|" + payload;
+    }
+
+    private byte[] sign(String payload) {
+        if (key == null) {
+            throw new IllegalStateException("registration-token.secret is not set (REGISTRATION_TOKEN_SECRET)");
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign registration token", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.AsyncConfig;
+import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.dto.CourseDTO;
+import com.example.course_management.dto.TeacherDashboardDTO;
+import com.example.course_management.exception.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the teacher dashboard by running the three per-teacher queries concurrently, so its latency is that of
+ * the slowest query rather than their sum. Entity associations are eagerly fetched and open-in-view is off, so the
+ * DTOs are complete when they leave the worker threads.
+ */
+@Service
+public class TeacherDashboardService {
+
+    private final CourseService courseService;
+    private final AbsenceRequestService absenceRequestService;
+    private final Executor executor;
+    private final long timeoutMillis;
+
+    public TeacherDashboardService(CourseService courseService,
+                                   AbsenceRequestService absenceRequestService,
+                                   @Qualifier(AsyncConfig.DASHBOARD_EXECUTOR) Executor executor,
+                                   @Value("${dashboard.timeout:5s}") Duration timeout) {
+        this.courseService = courseService;
+        this.absenceRequestService = absenceRequestService;
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * @throws ServiceOverloadedException if the queries do not all finish within {@code dashboard.timeout}
+     */
+    public TeacherDashboardDTO getDashboard(Long teacherId) {
+        CompletableFuture<List<CourseDTO>> courses =
+                CompletableFuture.supplyAsync(() -> courseService.getCoursesByTeacher(teacherId), executor);
+        CompletableFuture<List<CourseDTO>> pendingProposals =
+                CompletableFuture.supplyAsync(() -> courseService.getPendingTeacherApprovalCourses(teacherId), executor);
+        CompletableFuture<List<AbsenceRequestDTO>> absenceRequests =
+                CompletableFuture.supplyAsync(() -> absenceRequestService.getAbsenceRequestsByTeacher(teacherId), executor);
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(courses, pendingProposals, absenceRequests);
+        try {
+            all.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Queries still waiting in the executor queue are then skipped instead of run for nobody
+            courses.cancel(false);
+            pendingProposals.cancel(false);
+            absenceRequests.cancel(false);
+            throw new ServiceOverloadedException("Dashboard queries timed out, please retry shortly", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading dashboard", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Dashboard query failed", e.getCause());
+        }
+        return new TeacherDashboardDTO(courses.join(), pendingProposals.join(), absenceRequests.join());
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.AsyncConfig;
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.dto.TeacherEventDTO;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events push to connected teachers, replacing polling of the pending makeup proposals and
+ * absence request endpoints.
+ * <p>
+ * Each connection is an {@link SseEmitter} on an async servlet request, so no request thread is held while it
+ * is open; an idle connection costs only its socket and a map entry. Events are sent after the writing
+ * transaction commits, so a client re-fetching on receipt always sees the change.
+ * <p>
+ * Publishing only queues the event: the socket writes happen on the {@link AsyncConfig#TEACHER_EVENTS_EXECUTOR},
+ * so the committing thread (or the absence ingestion writer) never waits on a client. Each stream keeps at most
+ * {@code teacher-events.max-pending-events}; a client that falls further behind misses events, counted in
+ * {@code teacher_events.dropped}, and catches up on its next fetch.
+ */
+@Service
+public class TeacherEventService {
+
+    public static final String EVENT_MAKEUP_PROPOSAL = "makeup-proposal";
+    public static final String EVENT_ABSENCE_REQUEST_STATUS = "absence-request-status";
+
+    // Keyed by tenant and teacher id: teacher ids repeat across tenants
+    private final Map<String, Set<Connection>> connectionsByTeacher = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final Executor executor;
+    private final Counter droppedEvents;
+    private final long timeoutMillis;
+    private final int maxConnectionsPerTeacher;
+    private final int maxPendingEvents;
+
+    public TeacherEventService(MeterRegistry meterRegistry,
+                               @Qualifier(AsyncConfig.TEACHER_EVENTS_EXECUTOR) Executor executor,
+                               @Value("${teacher-events.timeout:30m}") Duration timeout,
+                               @Value("${teacher-events.max-connections-per-teacher:5}") int maxConnectionsPerTeacher,
+                               @Value("${teacher-events.max-pending-events:32}") int maxPendingEvents) {
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxConnectionsPerTeacher = maxConnectionsPerTeacher;
+        this.maxPendingEvents = maxPendingEvents;
+        Gauge.builder("teacher_events.connections", openConnections, AtomicInteger::get)
+                .description("Open teacher SSE connections")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("teacher_events.dropped")
+                .description("Events not sent because the client was too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the teacher. Beyond {@code teacher-events.max-connections-per-teacher} the new
+     * connection is refused rather than closing older tabs, so a reconnect loop cannot grow without bound.
+     *
+     * @return the emitter, or {@code null} if the teacher already has the maximum number of open streams
+     */
+    public SseEmitter subscribe(Long teacherId) {
+        Connection connection = new Connection(teacherKey(teacherId), new SseEmitter(timeoutMillis));
+        boolean[] added = new boolean[1];
+        // Registered inside compute, so a concurrent remove can never drop the set this connection was added to
+        connectionsByTeacher.compute(connection.key, (id, connections) -> {
+            Set<Connection> set = connections != null ? connections : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxConnectionsPerTeacher) {
+                added[0] = set.add(connection);
+            }
+            return set.isEmpty() ? null : set;
+        });
+        if (!added[0]) {
+            return null;
+        }
+        openConnections.incrementAndGet();
+        Runnable remove = () -> remove(connection);
+        connection.emitter.onCompletion(remove);
+        connection.emitter.onTimeout(remove);
+        connection.emitter.onError(error -> remove.run());
+
+        // Flushes the response headers right away, so the client knows the stream is open
+        enqueue(connection, SseEmitter.event().comment("connected"));
+        return connection.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        // A new admin proposal, or an existing course moved back to waiting for the teacher
+        boolean proposed = event.changeType() != ChangeType.DELETED
+                && "PENDING_TEACHER_APPROVAL".equals(event.newStatus())
+                && !Objects.equals(event.oldStatus(), event.newStatus());
+        if (proposed) {
+            publish(event.teacherId(), EVENT_MAKEUP_PROPOSAL, new TeacherEventDTO(event.courseId(), event.newStatus()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAbsenceRequestChanged(AbsenceRequestChangedEvent event) {
+        boolean statusChanged = event.changeType() == ChangeType.UPDATED
+                && !Objects.equals(event.oldStatus(), event.newStatus());
+        if (statusChanged) {
+            publish(event.teacherId(), EVENT_ABSENCE_REQUEST_STATUS, new TeacherEventDTO(event.requestId(), event.newStatus()));
+        }
+    }
+
+    // Comment lines keep proxies from closing idle streams and surface dead connections as write errors
+    @Scheduled(fixedDelayString = "${teacher-events.heartbeat-interval:25000}")
+    public void heartbeat() {
+        connectionsByTeacher.values().forEach(connections ->
+                connections.forEach(connection -> enqueue(connection, SseEmitter.event().comment("ping"))));
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    private void publish(Long teacherId, String eventName, TeacherEventDTO payload) {
+        if (teacherId == null) {
+            return;
+        }
+        Set<Connection> connections = connectionsByTeacher.get(teacherKey(teacherId));
+        if (connections == null) {
+            return;
+        }
+        for (Connection connection : connections) {
+            enqueue(connection, SseEmitter.event().name(eventName).data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // Events are published by the writing thread, which works for the same tenant as the subscriber
+    private static String teacherKey(Long teacherId) {
+        return TenantContext.scoped(String.valueOf(teacherId));
+    }
+
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (!connection.pending.offer(event)) {
+            droppedEvents.increment();
+            return;
+        }
+        schedule(connection);
+    }
+
+    // At most one drain per connection is queued or running, which keeps writes to an emitter in order
+    private void schedule(Connection connection) {
+        if (!connection.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            // Executor saturated: the events stay queued and the next publish or heartbeat tries again
+            connection.draining.set(false);
+        }
+    }
+
+    private void drain(Connection connection) {
+        SseEmitter.SseEventBuilder event;
+        while ((event = connection.pending.poll()) != null) {
+            if (!send(connection, event)) {
+                connection.pending.clear();
+                break;
+            }
+        }
+        connection.draining.set(false);
+        // An event queued after the last poll but before the flag was cleared would otherwise wait for the next one
+        if (!connection.pending.isEmpty()) {
+            schedule(connection);
+        }
+    }
+
+    private boolean send(Connection connection, SseEmitter.SseEventBuilder event) {
+        try {
+            connection.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (or the emitter already completed): drop it, the servlet container cleans up
+            remove(connection);
+            connection.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(Connection connection) {
+        connectionsByTeacher.computeIfPresent(connection.key, (id, connections) -> {
+            if (connections.remove(connection)) {
+                openConnections.decrementAndGet();
+            }
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    // An open stream and the events waiting to be written to it
+    private final class Connection {
+
+        private final String key;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(maxPendingEvents);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Connection(String key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.course_management.service;
+
+import com.example.course_management.dto.BulkInviteResultDTO;
+import com.example.course_management.entity.User;
+import com.example.course_management.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk teacher onboarding: one IN query for duplicates, one JDBC batch for the inserts,
+ * one IN query to read the generated ids back, then invite emails queued for background delivery once the
+ * transaction has committed, so a rollback never leaves an invitation pointing at a user that does not exist.
+ */
+@Service
+public class TeacherInviteService {
+
+    public record InviteRow(String email, String fullName) {
+    }
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
+    private final RegistrationTokenService registrationTokenService;
+    private final EmailService emailService;
+    private final int maxRows;
+
+    @Value("${invite.link-base-url:http://localhost:3000/complete-registration?token=}")
+    private String inviteLinkBaseUrl;
+
+    public TeacherInviteService(UserRepository userRepository,
+                                UserExistenceFilter userExistenceFilter,
+                                RegistrationTokenService registrationTokenService,
+                                EmailService emailService,
+                                @Value("${invite.bulk.max-rows:1000}") int maxRows) {
+        this.userRepository = userRepository;
+        this.userExistenceFilter = userExistenceFilter;
+        this.registrationTokenService = registrationTokenService;
+        this.emailService = emailService;
+        this.maxRows = maxRows;
+    }
+
+    public String inviteLink(String token) {
+        return inviteLinkBaseUrl + token;
+    }
+
+    /**
+     * Invites every valid row and reports the outcome per row, in input order.
+     *
+     * @throws IllegalArgumentException if there are more than {@code invite.bulk.max-rows} rows
+     */
+    @Transactional
+    public List<BulkInviteResultDTO> inviteTeachers(List<InviteRow> rows) {
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " teachers per request.");
+        }
+        BulkInviteResultDTO[] results = new BulkInviteResultDTO[rows.size()];
+        Map<String, Integer> candidates = new HashMap<>(); // normalized email -> row index
+
+        for (int i = 0; i < rows.size(); i++) {
+            InviteRow row = rows.get(i);
+            String email = row.email() != null ? row.email().trim() : null;
+            if (email == null || !EMAIL_PATTERN.matcher(email).matches()
+                    || row.fullName() == null || row.fullName().isBlank()) {
+                results[i] = new BulkInviteResultDTO(i + 1, email, "INVALID", "Email and full name are required.");
+            } else if (candidates.putIfAbsent(email.toLowerCase(Locale.ROOT), i) != null) {
+                results[i] = new BulkInviteResultDTO(i + 1, email, "DUPLICATE", "Email appears earlier in this batch.");
+            }
+        }
+
+        // Only emails the Bloom filter cannot rule out go into the IN query
+        List<String> possiblyExisting = candidates.keySet().stream()
+                .filter(userExistenceFilter::mightContainEmail)
+                .map(key -> rows.get(candidates.get(key)).email().trim())
+                .toList();
+        Set<String> existing = new HashSet<>();
+        if (!possiblyExisting.isEmpty()) {
+            userRepository.findExistingEmails(possiblyExisting)
+                    .forEach(email -> existing.add(email.toLowerCase(Locale.ROOT)));
+        }
+
+        List<Runnable> emails = new ArrayList<>();
+        List<User> toInsert = new ArrayList<>();
+        Map<String, Integer> insertedRows = new HashMap<>();
+        candidates.forEach((key, index) -> {
+            String email = rows.get(index).email().trim();
+            if (existing.contains(key)) {
+                results[index] = new BulkInviteResultDTO(index + 1, email, "DUPLICATE", "Email already exists: " + email);
+                return;
+            }
+            User user = new User();
+            user.setEmail(email);
+            user.setUsername(email); // Using email as username, as for single invites
+            user.setFullName(rows.get(index).fullName().trim());
+            user.setRole("TEACHER");
+            user.setActivated(false);
+            toInsert.add(user);
+            insertedRows.put(key, index);
+        });
+
+        if (!toInsert.isEmpty()) {
+            userRepository.batchInsert(toInsert);
+            // The JDBC batch bypasses the JPA entity listener, so record the new users explicitly
+            toInsert.forEach(user -> userExistenceFilter.recordUser(user.getEmail(), user.getAccountUsername()));
+
+            for (User saved : userRepository.findByEmailIn(toInsert.stream().map(User::getEmail).toList())) {
+                Integer index = insertedRows.get(saved.getEmail().toLowerCase(Locale.ROOT));
+                if (index == null) {
+                    continue;
+                }
+                String token = registrationTokenService.issue(saved.getId());
+                String link = inviteLink(token);
+                emails.add(() -> emailService.queueInviteEmail(saved.getEmail(), saved.getFullName(), link));
+                results[index] = new BulkInviteResultDTO(index + 1, saved.getEmail(), "INVITED", "Invitation queued.");
+            }
+        }
+
+        afterCommit(() -> emails.forEach(Runnable::run));
+        return List.of(results);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Parses {@code email,fullName} lines. A first line starting with "email" is treated as a header;
+     * fields may be double-quoted (e.g. {@code "Doe, Jane"}).
+     */
+    public List<InviteRow> parseCsv(String csv) {
+        List<InviteRow> rows = new ArrayList<>();
+        String[] lines = csv.split("\\r?\\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || (i == 0 && line.toLowerCase(Locale.ROOT).startsWith("email"))) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(line);
+            rows.add(new InviteRow(fields.get(0), fields.size() > 1 ? fields.get(1) : null));
+        }
+        return rows;
+    }
+
+    private List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.config.TenantRegistry;
+import com.example.course_management.entity.CacheInvalidation;
+import com.example.course_management.event.CacheInvalidationEvent;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.UserChangedEvent;
+import com.example.course_management.repository.UserRepository;
+import com.example.course_management.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory Bloom filters over every known email and username, so registration and invite
+ * duplicate checks only hit the users table when a value might already exist.
+ * <p>
+ * Built at startup, updated on every insert/update via {@link UserChangedEvent} (or
+ * {@link CacheInvalidationEvent} for another node's writes), and rebuilt periodically to pick up
+ * users that bypass both, such as bulk invites on other nodes. Values are lower-cased, so a hit
+ * covers every case variant (the MySQL collation compares case-insensitively).
+ * Until the first build completes, every check is treated as a possible hit.
+ */
+@Service
+public class UserExistenceFilter {
+
+    private record Filters(BloomFilter emails, BloomFilter usernames) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(UserExistenceFilter.class);
+
+    private final UserRepository userRepository;
+    private final TenantRegistry tenantRegistry;
+    private final long minExpectedUsers;
+    private final double falsePositiveProbability;
+
+    // One pair of filters per tenant, each over that tenant's users table
+    private final Map<String, Filters> current = new ConcurrentHashMap<>();
+    // Present while a tenant's rebuild is loading from the DB; inserts go to both so none are lost on swap
+    private final Map<String, Filters> building = new ConcurrentHashMap<>();
+
+    public UserExistenceFilter(UserRepository userRepository,
+                               TenantRegistry tenantRegistry,
+                               @Value("${user-filter.min-expected-users:100000}") long minExpectedUsers,
+                               @Value("${user-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.userRepository = userRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.minExpectedUsers = minExpectedUsers;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user-filter.rebuild-interval:3600000}", initialDelayString = "${user-filter.rebuild-interval:3600000}")
+    public void rebuild() {
+        tenantRegistry.forEachTenant(this::rebuildCurrentTenant);
+    }
+
+    private void rebuildCurrentTenant() {
+        String tenantId = TenantContext.getTenantId();
+        // Size for twice the current population so the false-positive rate holds until the next rebuild
+        long expected = Math.max(minExpectedUsers, userRepository.count() * 2);
+        Filters next = new Filters(new BloomFilter(expected, falsePositiveProbability),
+                new BloomFilter(expected, falsePositiveProbability));
+        building.put(tenantId, next);
+        try {
+            List<String> emails = userRepository.findAllEmails();
+            emails.forEach(email -> put(next.emails(), email));
+            userRepository.findAllUsernames().forEach(username -> put(next.usernames(), username));
+            current.put(tenantId, next);
+            logger.info("User existence filter for tenant {} rebuilt with {} users", tenantId, emails.size());
+        } finally {
+            building.remove(tenantId);
+        }
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters filters = current.get(TenantContext.getTenantId());
+        return filters == null || email == null || filters.emails().mightContain(normalize(email));
+    }
+
+    public boolean mightContainUsername(String username) {
+        Filters filters = current.get(TenantContext.getTenantId());
+        return filters == null || username == null || filters.usernames().mightContain(normalize(username));
+    }
+
+    public void recordUser(String email, String username) {
+        String tenantId = TenantContext.getTenantId();
+        record(current.get(tenantId), email, username);
+        record(building.get(tenantId), email, username);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.changeType() != ChangeType.DELETED) {
+            recordUser(event.email(), event.username());
+        }
+    }
+
+    @EventListener
+    public void onRemoteChange(CacheInvalidationEvent event) {
+        if (event.entityType() == CacheInvalidation.EntityType.USER && event.changeType() != ChangeType.DELETED
+                && event.entityId() != null) {
+            userRepository.findById(event.entityId()).ifPresent(user -> recordUser(user.getEmail(), user.getAccountUsername()));
+        }
+    }
+
+    private void record(Filters filters, String email, String username) {
+        if (filters != null) {
+            put(filters.emails(), email);
+            put(filters.usernames(), username);
+        }
+    }
+
+    private static void put(BloomFilter filter, String value) {
+        if (value != null) {
+            filter.put(normalize(value));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
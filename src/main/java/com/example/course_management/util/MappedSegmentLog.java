@@ -0,0 +1,271 @@
+package com.example.course_management.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of byte records over memory-mapped segment files. Each segment is preallocated and mapped once,
+ * so an append is a few memory writes with no system call; when the next record does not fit, the segment is
+ * flushed and a new one started. Pages reach the disk when the OS writes them back or on {@link #force()}.
+ * <p>
+ * Records carry a {@code long} key (e.g. a timestamp) that never decreases, which lets {@link #scan} skip whole
+ * segments outside the requested range. On disk a record is:
+ * <pre>
+ * int  length    bytes after this field
+ * long key
+ * ...  payload
+ * int  crc32     of key and payload
+ * </pre>
+ * A zero length marks the end of a segment. The length is written last and checked against the CRC, so a record
+ * torn by a crash is detected on reopen and overwritten by the next append.
+ * <p>
+ * Appends are serialized; scans may run concurrently with them and see every record appended before they started.
+ * A directory can only be opened by one log at a time.
+ */
+public class MappedSegmentLog implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        /**
+         * @param payload read-only, positioned at the start of the payload
+         * @return false to stop the scan
+         */
+        boolean visit(long key, ByteBuffer payload);
+    }
+
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int FRAME_SIZE = LENGTH_SIZE + Long.BYTES + Integer.BYTES;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{10})\\.log");
+
+    // Position right after the last complete record; readers never go past it in the active segment
+    private record Tail(long sequence, int position) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private FileChannel activeChannel;
+    private MappedByteBuffer active;
+    private long lastKey = Long.MIN_VALUE;
+    private boolean dirty;
+    private volatile Tail tail;
+
+    public MappedSegmentLog(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Segment size must be at least 4 KB");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve("journal.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("Journal directory " + directory + " is in use by another process");
+        }
+        lock = acquired;
+
+        List<Long> segments = listSegments();
+        long sequence = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        openSegment(sequence);
+        tail = new Tail(sequence, recover());
+    }
+
+    /**
+     * Appends a record. A key lower than the previous record's (e.g. after the clock was set back) is raised
+     * to it, so keys stay ordered.
+     *
+     * @return the key actually stored
+     */
+    public synchronized long append(long key, byte[] payload) throws IOException {
+        int recordSize = FRAME_SIZE + payload.length;
+        // Room for the record plus the zero length that terminates the segment
+        if (recordSize + LENGTH_SIZE > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit in a segment");
+        }
+        int position = tail.position();
+        if (position + recordSize + LENGTH_SIZE > active.capacity()) {
+            rotate();
+            position = 0;
+        }
+        long storedKey = Math.max(key, lastKey);
+        int body = position + LENGTH_SIZE;
+        active.putLong(body, storedKey);
+        active.put(body + Long.BYTES, payload);
+        active.putInt(body + Long.BYTES + payload.length, checksum(active, body, Long.BYTES + payload.length));
+        active.putInt(position, recordSize - LENGTH_SIZE);
+
+        lastKey = storedKey;
+        dirty = true;
+        tail = new Tail(tail.sequence(), position + recordSize);
+        return storedKey;
+    }
+
+    /**
+     * Flushes appended records to the disk. Cheap when nothing was appended since the last call.
+     */
+    public void force() {
+        MappedByteBuffer buffer;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            buffer = active;
+            dirty = false;
+        }
+        // Outside the lock: appends only touch pages past the ones being written out
+        buffer.force();
+    }
+
+    /**
+     * Visits the records with {@code fromKey <= key <= toKey}, oldest first.
+     */
+    public void scan(long fromKey, long toKey, RecordVisitor visitor) throws IOException {
+        Tail snapshot = tail;
+        List<Long> segments = listSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            long sequence = segments.get(i);
+            if (sequence > snapshot.sequence()) {
+                return;
+            }
+            // Every key in a segment is at most the first key of the next one
+            if (i + 1 < segments.size() && segments.get(i + 1) <= snapshot.sequence()) {
+                Long nextFirstKey = firstKey(segments.get(i + 1));
+                if (nextFirstKey != null && nextFirstKey < fromKey) {
+                    continue;
+                }
+            }
+            if (!scanSegment(sequence, sequence == snapshot.sequence() ? snapshot.position() : -1, fromKey, toKey, visitor)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.force();
+        activeChannel.close();
+        lock.release();
+        lockChannel.close();
+    }
+
+    private boolean scanSegment(long sequence, int limit, long fromKey, long toKey, RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(sequence), StandardOpenOption.READ)) {
+            int end = limit >= 0 ? limit : (int) channel.size();
+            if (end == 0) {
+                return true;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+            int position = 0;
+            int next;
+            while ((next = recordEnd(buffer, position, end)) > 0) {
+                long key = buffer.getLong(position + LENGTH_SIZE);
+                if (key > toKey) {
+                    return false;
+                }
+                int payloadLength = next - position - FRAME_SIZE;
+                if (key >= fromKey
+                        && !visitor.visit(key, buffer.slice(position + LENGTH_SIZE + Long.BYTES, payloadLength).asReadOnlyBuffer())) {
+                    return false;
+                }
+                position = next;
+            }
+            return true;
+        }
+    }
+
+    // Finds the end of the last intact record in the reopened active segment, and clears a torn one after it
+    private int recover() {
+        int position = 0;
+        int next;
+        while ((next = recordEnd(active, position, active.capacity())) > 0) {
+            lastKey = active.getLong(position + LENGTH_SIZE);
+            position = next;
+        }
+        if (position + LENGTH_SIZE <= active.capacity() && active.getInt(position) != 0) {
+            int length = active.getInt(position);
+            long tornEnd = length > 0 ? Math.min((long) position + LENGTH_SIZE + length, active.capacity()) : active.capacity();
+            for (int i = position; i < tornEnd; i++) {
+                active.put(i, (byte) 0);
+            }
+            active.force();
+        }
+        return position;
+    }
+
+    private void rotate() throws IOException {
+        active.force();
+        activeChannel.close();
+        long sequence = tail.sequence() + 1;
+        openSegment(sequence);
+        tail = new Tail(sequence, 0);
+    }
+
+    private void openSegment(long sequence) throws IOException {
+        activeChannel = FileChannel.open(segmentPath(sequence),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // A segment written with a larger configured size keeps its size
+        active = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, activeChannel.size()));
+    }
+
+    private Long firstKey(long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(sequence), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(LENGTH_SIZE + Long.BYTES);
+            channel.read(header, 0);
+            return header.position() == header.capacity() && header.getInt(0) > 0 ? header.getLong(LENGTH_SIZE) : null;
+        }
+    }
+
+    // Offset after the record at position, or -1 if there is no intact record there
+    private static int recordEnd(ByteBuffer buffer, int position, int limit) {
+        if (position + LENGTH_SIZE > limit) {
+            return -1;
+        }
+        int length = buffer.getInt(position);
+        int body = position + LENGTH_SIZE;
+        if (length < Long.BYTES + Integer.BYTES || length > limit - body) {
+            return -1;
+        }
+        int checked = length - Integer.BYTES;
+        return checksum(buffer, body, checked) == buffer.getInt(body + checked) ? body + length : -1;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("segment-%010d.log", sequence));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
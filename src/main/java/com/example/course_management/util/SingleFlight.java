@@ -0,0 +1,66 @@
+package com.example.course_management.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution whose result (or exception) every
+ * caller receives. Nothing is kept once the call finishes, so this only coalesces overlapping calls;
+ * it is not a cache.
+ * <p>
+ * The first caller for a key runs the loader on its own thread; later callers block until it completes.
+ * Callers share the returned object, so results must be treated as read-only.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Conditional remove: forget() may already have let a newer flight take this key
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Makes the next call for any key start a fresh execution instead of joining one that is already running.
+     * Call after a write commits, so nobody arriving later is handed a result read before the write.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception as-is so callers see the same type it did
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.course_management.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a GCRA ("virtual scheduling") limiter so the whole state is
+ * a single {@code long}: the theoretical arrival time of the next request. One CAS per acquire, no locks,
+ * no allocation.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * @param capacity        maximum burst size (tokens available when the bucket is full)
+     * @param refillPerSecond steady-state rate at which tokens are replenished
+     */
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be >= 1 and refillPerSecond > 0");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds to wait before one becomes available.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long excess = newTat - nowNanos - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    // A full bucket carries no state worth keeping and can be dropped (it is recreated full)
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+}
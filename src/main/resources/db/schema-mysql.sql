@@ -0,0 +1,85 @@
+-- MySQL schema for the prod profile (ddl-auto=validate). Run on every startup through spring.sql.init, and by
+-- TenantSchemaInitializer against each tenant database, so every statement must be safe to repeat.
+-- Keep it in step with the entities: a missing table or column fails startup validation.
+
+create table if not exists users (
+    id bigint not null auto_increment,
+    username varchar(255) not null,
+    email varchar(255),
+    password varchar(255),
+    role varchar(255) not null,
+    full_name varchar(255),
+    is_activated bit not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table if not exists courses (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    course_name varchar(255) not null,
+    description varchar(255),
+    type varchar(255) not null,
+    timetable varchar(255),
+    status varchar(255) not null,
+    teacher_id bigint not null,
+    primary key (id),
+    constraint fk_courses_teacher foreign key (teacher_id) references users (id)
+) engine=InnoDB;
+
+create table if not exists absence_requests (
+    id bigint not null auto_increment,
+    teacher_id bigint not null,
+    course_id bigint,
+    justification varchar(255),
+    status varchar(255),
+    submitted_at datetime(6),
+    primary key (id),
+    index idx_absence_requests_submitted_at (submitted_at),
+    index idx_absence_requests_teacher_submitted (teacher_id, submitted_at),
+    index idx_absence_requests_status_submitted (status, submitted_at),
+    constraint fk_absence_requests_teacher foreign key (teacher_id) references users (id),
+    constraint fk_absence_requests_course foreign key (course_id) references courses (id)
+) engine=InnoDB;
+
+-- Closed requests moved out by AbsenceRequestArchiveService; ids are the original ones, and the teacher and
+-- course are copied rather than referenced so either can be deleted later
+create table if not exists absence_requests_archive (
+    id bigint not null,
+    teacher_id bigint not null,
+    teacher_name varchar(255),
+    course_id bigint,
+    course_name varchar(255),
+    justification varchar(255),
+    status varchar(255) not null,
+    submitted_at datetime(6),
+    archived_at datetime(6) not null,
+    primary key (id),
+    index idx_absence_archive_submitted_at (submitted_at),
+    index idx_absence_archive_teacher_submitted (teacher_id, submitted_at)
+) engine=InnoDB;
+
+create table if not exists change_log (
+    id bigint not null auto_increment,
+    entity_type enum ('ABSENCE_REQUEST','COURSE') not null,
+    entity_id bigint not null,
+    teacher_id bigint,
+    change_type enum ('CREATED','DELETED','UPDATED') not null,
+    status varchar(255),
+    changed_at datetime(6) not null,
+    primary key (id),
+    index idx_change_log_entity_type_id (entity_type, id),
+    index idx_change_log_changed_at (changed_at)
+) engine=InnoDB;
+
+create table if not exists cache_invalidations (
+    id bigint not null auto_increment,
+    entity_type enum ('ABSENCE_REQUEST','COURSE','USER') not null,
+    entity_id bigint,
+    change_type enum ('CREATED','DELETED','UPDATED') not null,
+    node_id varchar(36) not null,
+    created_at datetime(6) not null,
+    primary key (id),
+    index idx_cache_invalidations_created_at (created_at)
+) engine=InnoDB;
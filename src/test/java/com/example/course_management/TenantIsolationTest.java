@@ -0,0 +1,144 @@
+package com.example.course_management;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.entity.Course;
+import com.example.course_management.entity.User;
+import com.example.course_management.repository.CourseRepository;
+import com.example.course_management.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two tenants on separate H2 databases, both with a teacher registered under the same email: data, logins and
+ * tokens must not cross from one to the other.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:tenant_default;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.mail.host=localhost",
+        "logging.level.org.springframework.security=WARN",
+        "rate-limit.enabled=false",
+        "auth.mode=jwt",
+        "registration-token.secret=dGVuYW50LWlzb2xhdGlvbi1yZWdpc3RyYXRpb24tc2VjcmV0",
+        "jwt.keys.k1=dGVuYW50LWlzb2xhdGlvbi10ZXN0LWtleS1ub3QtcHJvZCE=",
+        "audit.journal.directory=target/audit/tenant-isolation",
+        "tenancy.enabled=true",
+        "tenancy.tenants.north.hosts=north.localhost",
+        "tenancy.tenants.north.datasource.url=jdbc:h2:mem:tenant_north;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "tenancy.tenants.south.datasource.url=jdbc:h2:mem:tenant_south;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+public class TenantIsolationTest {
+
+    private static final String EMAIL = "shared.teacher@example.com";
+    private static final String PASSWORD = "secret-password";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void seed() {
+        TenantContext.runAs("north", () -> seedTenant("North Algebra"));
+        TenantContext.runAs("south", () -> seedTenant("South Biology"));
+    }
+
+    private void seedTenant(String courseName) {
+        if (userRepository.existsByEmail(EMAIL)) {
+            return;
+        }
+        User teacher = new User();
+        teacher.setUsername(EMAIL);
+        teacher.setEmail(EMAIL);
+        teacher.setFullName(courseName + " Teacher");
+        teacher.setPassword(passwordEncoder.encode(PASSWORD));
+        teacher.setRole("ROLE_TEACHER");
+        teacher.setActivated(true);
+        teacher = userRepository.save(teacher);
+        Course course = new Course();
+        course.setCourseName(courseName);
+        course.setName(courseName.toUpperCase());
+        course.setStatus("APPROVED");
+        course.setTeacher(teacher);
+        courseRepository.save(course);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request, String tenantId) throws Exception {
+        if (tenantId != null) {
+            request.header("X-Tenant-ID", tenantId);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+    }
+
+    private String login(String tenantId) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("username", EMAIL, "password", PASSWORD));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), tenantId);
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).path("tokens").path("accessToken").asText();
+    }
+
+    @Test
+    void testEachTenantOnlySeesItsOwnCourses() throws Exception {
+        String north = send(get("/courses"), "north").body();
+        String south = send(get("/courses"), "south").body();
+        String fallback = send(get("/courses"), null).body();
+
+        assertTrue(north.contains("North Algebra") && !north.contains("South Biology"), north);
+        assertTrue(south.contains("South Biology") && !south.contains("North Algebra"), south);
+        assertEquals("[]", objectMapper.readTree(fallback).toString());
+    }
+
+    @Test
+    void testTokenIsOnlyAcceptedByTheIssuingTenant() throws Exception {
+        String token = login("north");
+
+        HttpResponse<String> own = send(get("/api/teacher/courses").header("Authorization", "Bearer " + token), "north");
+        HttpResponse<String> other = send(get("/api/teacher/courses").header("Authorization", "Bearer " + token), "south");
+
+        assertEquals(200, own.statusCode());
+        JsonNode courses = objectMapper.readTree(own.body());
+        assertEquals(1, courses.size());
+        assertEquals("North Algebra", courses.get(0).path("courseName").asText());
+        assertEquals(401, other.statusCode());
+    }
+
+    @Test
+    void testUnknownTenantIsRejected() throws Exception {
+        assertEquals(400, send(get("/courses"), "west").statusCode());
+    }
+}
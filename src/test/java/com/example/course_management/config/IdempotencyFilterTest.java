@@ -0,0 +1,163 @@
+package com.example.course_management.config;
+
+import com.example.course_management.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyFilterTest {
+
+    private IdempotencyService idempotencyService;
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(Duration.ofMinutes(5), 100, List.of("/api/teacher/makeup-course"),
+                DataSize.ofBytes(64));
+        filter = new IdempotencyFilter(idempotencyService);
+    }
+
+    private MockHttpServletRequest post(String key) {
+        return post(key, "{\"courseId\":1}");
+    }
+
+    private MockHttpServletRequest post(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/teacher/makeup-course");
+        request.setServletPath("/api/teacher/makeup-course");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+
+    private FilterChain controller(int status) {
+        return (request, response) -> {
+            int n = executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(status);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"id\":" + n + "}");
+        };
+    }
+
+    @Test
+    void testRetryReplaysFirstResponse() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+
+        filter.doFilter(post("k1"), first, controller(200));
+        filter.doFilter(post("k1"), retry, controller(200));
+
+        assertEquals(1, executions.get());
+        assertEquals("{\"id\":1}", first.getContentAsString());
+        assertEquals("{\"id\":1}", retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testKeyReusedForADifferentBodyIsRejected() throws Exception {
+        filter.doFilter(post("k1", "{\"courseId\":1}"), new MockHttpServletResponse(), controller(200));
+        MockHttpServletResponse reused = new MockHttpServletResponse();
+        filter.doFilter(post("k1", "{\"courseId\":2}"), reused, controller(200));
+
+        assertEquals(422, reused.getStatus());
+        assertNull(reused.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testControllerStillReadsTheBody() throws Exception {
+        StringBuilder received = new StringBuilder();
+        filter.doFilter(post("k1", "{\"courseId\":3}"), new MockHttpServletResponse(),
+                (request, response) -> received.append(request.getReader().readLine()));
+
+        assertEquals("{\"courseId\":3}", received.toString());
+    }
+
+    @Test
+    void testFailedAttemptIsNotStored() throws Exception {
+        filter.doFilter(post("k1"), new MockHttpServletResponse(), controller(500));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(post("k1"), retry, controller(200));
+
+        assertEquals(2, executions.get());
+        assertEquals("{\"id\":2}", retry.getContentAsString());
+    }
+
+    @Test
+    void testConcurrentRetryIsRejectedWhileInFlight() throws Exception {
+        String key = idempotencyService.scopedKey("ip:127.0.0.1", "POST", "/api/teacher/makeup-course", "k1");
+        idempotencyService.begin(key);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+
+        filter.doFilter(post("k1"), retry, controller(200));
+
+        assertEquals(409, retry.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testRequestsWithoutKeyAlwaysExecute() throws Exception {
+        filter.doFilter(post(null), new MockHttpServletResponse(), controller(200));
+        filter.doFilter(post(null), new MockHttpServletResponse(), controller(200));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testBodyOverTheLimitIsRejectedBeforeItIsRead() throws Exception {
+        MockHttpServletRequest request = post("big", "{\"notes\":\"" + "x".repeat(100) + "\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, controller(200));
+
+        assertEquals(413, response.getStatus());
+        assertEquals(0, executions.get());
+        // Declared length alone decides; nothing was pulled off the stream
+        assertTrue(request.getInputStream().available() > 0);
+    }
+
+    @Test
+    void testBodyWithoutALengthIsReadOnlyUpToTheLimit() throws Exception {
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/api/teacher/makeup-course") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setServletPath("/api/teacher/makeup-course");
+        chunked.addHeader(IdempotencyFilter.HEADER, "chunked");
+        chunked.setContent("x".repeat(1000).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(chunked, response, controller(200));
+
+        assertEquals(413, response.getStatus());
+        assertEquals(0, executions.get());
+        assertNull(idempotencyService.find(idempotencyService.scopedKey("ip:127.0.0.1", "POST",
+                "/api/teacher/makeup-course", "chunked")));
+    }
+
+    @Test
+    void testBodyExactlyAtTheLimitIsAccepted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post("edge", "x".repeat(64)), response, controller(200));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, executions.get());
+    }
+}
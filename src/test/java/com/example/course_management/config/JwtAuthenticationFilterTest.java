@@ -0,0 +1,91 @@
+package com.example.course_management.config;
+
+import com.example.course_management.entity.User;
+import com.example.course_management.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private static final String KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private String ticket;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(new JwtProperties("course-management", Duration.ofMinutes(15), Duration.ofDays(7),
+                Duration.ofMinutes(1), "k1", Map.of("k1", KEY)), "jwt");
+        filter = new JwtAuthenticationFilter(jwtService);
+        UsernamePasswordAuthenticationToken teacher = new UsernamePasswordAuthenticationToken(
+                "teacher@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_TEACHER")));
+        teacher.setDetails(42L);
+        ticket = jwtService.issueStreamTicket(teacher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // The authentication the rest of the chain sees
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+        return seen.get();
+    }
+
+    private static MockHttpServletRequest get(String path, String ticket) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setParameter(JwtAuthenticationFilter.TICKET_PARAMETER, ticket);
+        return request;
+    }
+
+    @Test
+    void testEventStreamAcceptsATicketInTheQueryString() throws Exception {
+        Authentication authentication = filter(get(JwtAuthenticationFilter.STREAM_PATH, ticket));
+
+        assertNotNull(authentication);
+        assertEquals("teacher@example.com", authentication.getName());
+        assertEquals(42L, authentication.getDetails());
+        assertEquals("ROLE_TEACHER", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void testTicketsAreIgnoredEverywhereElse() throws Exception {
+        assertNull(filter(get("/api/teacher/courses", ticket)));
+        MockHttpServletRequest post = get(JwtAuthenticationFilter.STREAM_PATH, ticket);
+        post.setMethod("POST");
+        assertNull(filter(post));
+    }
+
+    @Test
+    void testTicketsAndAccessTokensAreNotInterchangeable() throws Exception {
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("teacher@example.com");
+        user.setRole("TEACHER");
+        MockHttpServletRequest bearer = new MockHttpServletRequest("GET", "/api/teacher/courses");
+        bearer.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + ticket);
+
+        assertNull(filter(get(JwtAuthenticationFilter.STREAM_PATH, jwtService.issueAccessToken(user))));
+        assertNull(filter(bearer));
+    }
+}
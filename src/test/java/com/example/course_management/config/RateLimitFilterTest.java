@@ -0,0 +1,106 @@
+package com.example.course_management.config;
+
+import com.example.course_management.service.RateLimiterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private RateLimiterService rateLimiterService;
+    private RateLimitFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(true, 1, Map.of(
+                "default", new RateLimitProperties.Group(List.of("/**"), new RateLimitProperties.Quota(2, 0.001),
+                        Map.of("admin", new RateLimitProperties.Quota(5, 0.001)))));
+        rateLimiterService = new RateLimiterService(properties, new SimpleMeterRegistry(), 200);
+        filter = new RateLimitFilter(rateLimiterService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest get() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.setServletPath("/api/courses");
+        return request;
+    }
+
+    private MockHttpServletResponse send() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(get(), response, (req, res) -> executions.incrementAndGet());
+        return response;
+    }
+
+    @Test
+    void testOverQuotaIsAnsweredWith429AndRetryAfter() throws Exception {
+        assertEquals(200, send().getStatus());
+        assertEquals(200, send().getStatus());
+
+        MockHttpServletResponse limited = send();
+
+        assertEquals(429, limited.getStatus());
+        assertNotNull(limited.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testAuthenticatedCallersAreKeyedByUserWithTheirRoleQuota() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send().getStatus());
+        }
+        assertEquals(429, send().getStatus());
+        // The anonymous bucket of the same address is untouched
+        SecurityContextHolder.clearContext();
+        assertEquals(200, send().getStatus());
+    }
+
+    @Test
+    void testRequestOverTheInFlightLimitIsShedWith503() throws Exception {
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        // The in-flight limit is one: a request arriving while another is running is shed
+        filter.doFilter(get(), new MockHttpServletResponse(), (req, res) -> {
+            try {
+                filter.doFilter(get(), shed, (inner, innerRes) -> executions.incrementAndGet());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testInFlightSlotIsReleasedWhenTheChainThrows() throws Exception {
+        assertThrows(ServletException.class, () -> filter.doFilter(get(), new MockHttpServletResponse(), (req, res) -> {
+            throw new ServletException("controller failed");
+        }));
+
+        // With a limit of one, a leaked slot would shed this request
+        assertEquals(200, send().getStatus());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.course_management.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelectiveLazyInitializationTest {
+
+    public static class Controller {
+    }
+
+    @Test
+    void testMarksConfiguredBeansAndPackagesLazy() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("testController", new RootBeanDefinition(Controller.class));
+        beanFactory.registerBeanDefinition("courseController", new RootBeanDefinition(Controller.class));
+        beanFactory.registerBeanDefinition("swaggerConfig", new RootBeanDefinition("org.springdoc.SwaggerConfig"));
+        // @Bean method on a configuration class from a lazy package
+        RootBeanDefinition factoryBean = new RootBeanDefinition();
+        factoryBean.setFactoryBeanName("swaggerConfig");
+        factoryBean.setFactoryMethodName("swaggerWelcome");
+        beanFactory.registerBeanDefinition("swaggerWelcome", factoryBean);
+        RootBeanDefinition infrastructure = new RootBeanDefinition("org.springdoc.Internal");
+        infrastructure.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        beanFactory.registerBeanDefinition("internal", infrastructure);
+
+        SelectiveLazyInitialization lazyInitialization = new SelectiveLazyInitialization();
+        lazyInitialization.setEnvironment(new MockEnvironment()
+                .withProperty("startup.lazy-beans", "testController")
+                .withProperty("startup.lazy-packages", "org.springdoc"));
+        lazyInitialization.postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("testController").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("swaggerConfig").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("swaggerWelcome").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("courseController").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("internal").isLazyInit());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.course_management.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TenantResolutionFilterTest {
+
+    private final TenantRegistry tenantRegistry = new TenantRegistry(new TenantProperties(true, "X-Tenant-ID", Map.of(
+            "north", new TenantProperties.Tenant(List.of("North.example.com"), null, null),
+            "south", new TenantProperties.Tenant(List.of("south.example.com"), null, null))),
+            "direction@example.com");
+    private final TenantResolutionFilter filter = new TenantResolutionFilter(tenantRegistry);
+
+    private String resolve(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set(TenantContext.getTenantId());
+        filter.doFilter(request, response, chain);
+        return seen.get();
+    }
+
+    @Test
+    void testHeaderTakesPrecedenceOverHost() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("north.example.com");
+        request.addHeader("X-Tenant-ID", "south");
+
+        assertEquals("south", resolve(request, new MockHttpServletResponse()));
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.getTenantId());
+    }
+
+    @Test
+    void testHostIsMatchedIgnoringCaseAndUnknownHostsGetTheDefaultTenant() throws Exception {
+        MockHttpServletRequest north = new MockHttpServletRequest();
+        north.setServerName("NORTH.example.com");
+        MockHttpServletRequest other = new MockHttpServletRequest();
+        other.setServerName("elsewhere.example.com");
+
+        assertEquals("north", resolve(north, new MockHttpServletResponse()));
+        assertEquals(TenantContext.DEFAULT_TENANT, resolve(other, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void testUnknownTenantHeaderIsRejected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Tenant-ID", "west");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(resolve(request, response));
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void testSessionCannotBeReplayedAgainstAnotherTenant() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        MockHttpServletRequest login = new MockHttpServletRequest();
+        login.addHeader("X-Tenant-ID", "north");
+        login.setSession(session);
+        resolve(login, new MockHttpServletResponse());
+
+        MockHttpServletRequest replay = new MockHttpServletRequest();
+        replay.addHeader("X-Tenant-ID", "south");
+        replay.setSession(session);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(resolve(replay, response));
+        assertEquals(403, response.getStatus());
+    }
+}
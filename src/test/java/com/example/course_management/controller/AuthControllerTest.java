@@ -0,0 +1,113 @@
+package com.example.course_management.controller;
+
+import com.example.course_management.config.SecurityConfig;
+import com.example.course_management.entity.User;
+import com.example.course_management.repository.UserRepository;
+import com.example.course_management.service.AuthService;
+import com.example.course_management.service.JwtService;
+import com.example.course_management.service.PasswordHashingService;
+import com.example.course_management.service.RegistrationTokenService;
+import com.example.course_management.service.UserExistenceFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthControllerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private RegistrationTokenService registrationTokenService;
+
+    @Mock
+    private AuthService authService;
+
+    // The production encoder setup, at the cheapest BCrypt cost
+    private final PasswordEncoder passwordEncoder = SecurityConfig.passwordEncoder(4);
+    private PasswordHashingService passwordHashingService;
+    private AuthController authController;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingService = new PasswordHashingService(passwordEncoder, 1, 10, 200, Duration.ofSeconds(5));
+        authController = new AuthController(userRepository, jwtService, passwordHashingService, userExistenceFilter,
+                registrationTokenService, authService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    private User legacyTeacher() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("legacy@example.com");
+        user.setEmail("legacy@example.com");
+        user.setRole("TEACHER");
+        user.setActivated(true);
+        user.setPassword("plain-secret"); // stored before hashing was introduced, without an {id} prefix
+        when(userRepository.findByUsernameOrEmail("legacy@example.com", "legacy@example.com")).thenReturn(Optional.of(user));
+        return user;
+    }
+
+    private ResponseEntity<?> login(String password) {
+        return authController.login(new LoginRequest("legacy@example.com", password), new MockHttpServletRequest());
+    }
+
+    @Test
+    void testLegacyPlaintextPasswordIsUpgradedToBcryptOnLogin() {
+        User user = legacyTeacher();
+
+        ResponseEntity<?> response = login("plain-secret");
+
+        assertEquals(200, response.getStatusCode().value());
+        verify(userRepository).save(user);
+        assertTrue(user.getPassword().startsWith("{bcrypt}"));
+        assertTrue(passwordEncoder.matches("plain-secret", user.getPassword()));
+        assertFalse(passwordHashingService.needsRehash(user.getPassword()));
+    }
+
+    @Test
+    void testWrongPasswordIsNotRehashed() {
+        User user = legacyTeacher();
+
+        ResponseEntity<?> response = login("guess");
+
+        assertEquals(401, response.getStatusCode().value());
+        verify(userRepository, never()).save(any(User.class));
+        assertEquals("plain-secret", user.getPassword());
+    }
+
+    @Test
+    void testCurrentHashIsLeftAlone() {
+        User user = legacyTeacher();
+        String hash = passwordEncoder.encode("plain-secret");
+        user.setPassword(hash);
+
+        assertEquals(200, login("plain-secret").getStatusCode().value());
+        verify(userRepository, never()).save(any(User.class));
+        assertEquals(hash, user.getPassword());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.course_management.controller;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.service.CollectionVersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonResponseCacheTest {
+
+    private static final CollectionVersionService.Collection COURSES = CollectionVersionService.Collection.COURSES;
+
+    private CollectionVersionService versions;
+    private JsonResponseCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        versions = new CollectionVersionService();
+        cache = new JsonResponseCache(versions, new ObjectMapper(), Duration.ofMinutes(10), 16, true, 1024);
+    }
+
+    private ServletWebRequest request(String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/courses");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private Supplier<List<String>> loader(List<String> value) {
+        return () -> {
+            loads.incrementAndGet();
+            return value;
+        };
+    }
+
+    @Test
+    void testHitReusesSerializedBytes() {
+        ResponseEntity<byte[]> first = cache.respond(request(null, null), "courses", COURSES, CacheControl.noCache(), loader(List.of("a")));
+        ResponseEntity<byte[]> second = cache.respond(request(null, null), "courses", COURSES, CacheControl.noCache(), loader(List.of("a")));
+
+        assertEquals("[\"a\"]", new String(first.getBody()));
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testVersionBumpInvalidates() {
+        cache.respond(request(null, null), "courses", COURSES, CacheControl.noCache(), loader(List.of("a")));
+        versions.bump(COURSES);
+
+        ResponseEntity<byte[]> response = cache.respond(request(null, null), "courses", COURSES, CacheControl.noCache(), loader(List.of("b")));
+
+        assertEquals("[\"b\"]", new String(response.getBody()));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testNotModifiedSkipsLoader() {
+        String etag = versions.etag(TenantContext.scoped("courses"), COURSES);
+
+        ResponseEntity<byte[]> response = cache.respond(request(null, etag), "courses", COURSES, CacheControl.noCache(), loader(List.of("a")));
+        // The same ETag presented to another tenant is not a match
+        ResponseEntity<byte[]> otherTenant = TenantContext.callAs("north",
+                () -> cache.respond(request(null, etag), "courses", COURSES, CacheControl.noCache(), loader(List.of("b"))));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(HttpStatus.OK, otherTenant.getStatusCode());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLargeBodyServedGzippedWhenAccepted() throws IOException {
+        List<String> large = Collections.nCopies(200, "course-name");
+
+        ResponseEntity<byte[]> gzipped = cache.respond(request("gzip, deflate", null), "courses", COURSES, CacheControl.noCache(), loader(large));
+        ResponseEntity<byte[]> plain = cache.respond(request(null, null), "courses", COURSES, CacheControl.noCache(), loader(large));
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGzipRepresentationHasItsOwnEtag() {
+        List<String> large = Collections.nCopies(200, "course-name");
+        String gzipEtag = cache.respond(request("gzip", null), "courses", COURSES, CacheControl.noCache(), loader(large))
+                .getHeaders().getETag();
+        String plainEtag = cache.respond(request(null, null), "courses", COURSES, CacheControl.noCache(), loader(large))
+                .getHeaders().getETag();
+
+        ResponseEntity<byte[]> gzipRevalidated = cache.respond(request("gzip", gzipEtag), "courses", COURSES, CacheControl.noCache(), loader(large));
+        ResponseEntity<byte[]> plainWithGzipTag = cache.respond(request(null, gzipEtag), "courses", COURSES, CacheControl.noCache(), loader(large));
+
+        assertNotEquals(plainEtag, gzipEtag);
+        assertEquals(HttpStatus.NOT_MODIFIED, gzipRevalidated.getStatusCode());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzipRevalidated.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(HttpStatus.OK, plainWithGzipTag.getStatusCode());
+        assertNull(plainWithGzipTag.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.course_management.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-endpoint request latencies for one load-test run. Every sample is kept, so percentiles are exact
+ * (a few minutes at a few thousand requests per second is well within memory).
+ */
+class LatencyReport {
+
+    record Row(String endpoint, long requests, long errors, long serverErrors,
+               double throughput, double p50, double p90, double p99, double max) {
+    }
+
+    private static final class Endpoint {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+        private long serverErrors;
+
+        void record(long latencyNanos, int status) {
+            lock.lock();
+            try {
+                if (count == nanos.length) {
+                    nanos = Arrays.copyOf(nanos, count * 2);
+                }
+                nanos[count++] = latencyNanos;
+                if (status >= 400 || status < 0) {
+                    errors++;
+                }
+                // 503 is the application shedding load on purpose; anything else in 5xx is a failure
+                if ((status >= 500 && status != 503) || status < 0) {
+                    serverErrors++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Row summarize(String endpoint, double seconds) {
+            lock.lock();
+            try {
+                long[] sorted = Arrays.copyOf(nanos, count);
+                Arrays.sort(sorted);
+                return new Row(endpoint, count, errors, serverErrors, count / seconds,
+                        percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.90),
+                        percentileMillis(sorted, 0.99), percentileMillis(sorted, 1.0));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param status HTTP status, or -1 when the request failed without a response
+     */
+    void record(String endpoint, long latencyNanos, int status) {
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).record(latencyNanos, status);
+    }
+
+    List<Row> rows(double seconds) {
+        List<Row> rows = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> rows.add(stats.summarize(endpoint, seconds)));
+        rows.sort((a, b) -> Long.compare(b.requests(), a.requests()));
+        return rows;
+    }
+
+    void print(List<Row> rows, PrintStream out) {
+        out.printf(Locale.ROOT, "%-52s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Row row : rows) {
+            out.printf(Locale.ROOT, "%-52s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                    row.p50(), row.p90(), row.p99(), row.max());
+        }
+    }
+
+    void writeCsv(List<Row> rows, Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,server_errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms");
+        for (Row row : rows) {
+            lines.add(String.format(Locale.ROOT, "\"%s\",%d,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f",
+                    row.endpoint(), row.requests(), row.errors(), row.serverErrors(), row.throughput(),
+                    row.p50(), row.p90(), row.p99(), row.max()));
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
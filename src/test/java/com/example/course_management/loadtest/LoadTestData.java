@@ -0,0 +1,106 @@
+package com.example.course_management.loadtest;
+
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.Course;
+import com.example.course_management.entity.User;
+import com.example.course_management.repository.AbsenceRequestRepository;
+import com.example.course_management.repository.CourseRepository;
+import com.example.course_management.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds the load-test database straight through the repositories (JDBC batches where available), so seeding
+ * 10k+ rows takes seconds and does not show up in the measured HTTP traffic.
+ */
+class LoadTestData {
+
+    static final String PASSWORD = "loadtest";
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final AbsenceRequestRepository absenceRequestRepository;
+
+    final List<User> teachers = new ArrayList<>();
+    final List<User> admins = new ArrayList<>();
+    final List<User> directions = new ArrayList<>();
+    final Map<Long, List<Long>> courseIdsByTeacher = new HashMap<>();
+    final List<Long> absenceRequestIds = new ArrayList<>();
+
+    LoadTestData(UserRepository userRepository, CourseRepository courseRepository,
+                 AbsenceRequestRepository absenceRequestRepository) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.absenceRequestRepository = absenceRequestRepository;
+    }
+
+    void seed(String encodedPassword, int teacherCount, int studentCount, int adminCount, int directionCount,
+              int coursesPerTeacher, int absencesPerTeacher) {
+        List<User> users = new ArrayList<>();
+        addUsers(users, "teacher", "ROLE_TEACHER", teacherCount, encodedPassword);
+        addUsers(users, "admin", "ROLE_ADMIN", adminCount, encodedPassword);
+        addUsers(users, "direction", "ROLE_DIRECTION", directionCount, encodedPassword);
+        // Broadcast notifications look students up by this bare role
+        addUsers(users, "student", "STUDENT", studentCount, encodedPassword);
+        userRepository.batchInsert(users);
+
+        teachers.addAll(userRepository.findByRole("ROLE_TEACHER"));
+        admins.addAll(userRepository.findByRole("ROLE_ADMIN"));
+        directions.addAll(userRepository.findByRole("ROLE_DIRECTION"));
+
+        List<Course> courses = new ArrayList<>();
+        for (User teacher : teachers) {
+            for (int i = 0; i < coursesPerTeacher; i++) {
+                Course course = new Course();
+                String name = "Course " + teacher.getId() + "-" + i;
+                course.setCourseName(name);
+                course.setName(name);
+                course.setDescription("Seeded course " + i + " of " + teacher.getFullName());
+                course.setTimetable("Day " + (i % 5 + 1) + ", slot " + (i % 4 + 1));
+                // Mostly approved, like a running semester; the rest feed the pending lists
+                course.setStatus(i % 5 == 0 ? "PENDING_TEACHER_APPROVAL" : "APPROVED");
+                course.setType(i % 5 == 0 ? "MAKEUP" : "NORMAL");
+                course.setTeacher(teacher);
+                courses.add(course);
+            }
+        }
+        for (Course course : courseRepository.saveAll(courses)) {
+            courseIdsByTeacher.computeIfAbsent(course.getTeacher().getId(), id -> new ArrayList<>()).add(course.getId());
+        }
+
+        List<AbsenceRequest> requests = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(60);
+        for (User teacher : teachers) {
+            List<Long> courseIds = courseIdsByTeacher.getOrDefault(teacher.getId(), List.of());
+            for (int i = 0; i < absencesPerTeacher && !courseIds.isEmpty(); i++) {
+                Course course = new Course();
+                course.setId(courseIds.get(i % courseIds.size()));
+                AbsenceRequest request = new AbsenceRequest();
+                request.setTeacher(teacher);
+                request.setCourse(course);
+                request.setJustification("Seeded absence " + i);
+                request.setStatus(i % 3 == 0 ? "APPROVED" : "PENDING");
+                request.setSubmittedAt(start.plusHours(i));
+                requests.add(request);
+            }
+        }
+        absenceRequestIds.addAll(absenceRequestRepository.batchInsert(requests));
+    }
+
+    private static void addUsers(List<User> users, String prefix, String role, int count, String encodedPassword) {
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@loadtest.local");
+            user.setFullName(prefix.substring(0, 1).toUpperCase() + prefix.substring(1) + " " + i);
+            user.setPassword(encodedPassword);
+            user.setRole(role);
+            user.setActivated(true);
+            users.add(user);
+        }
+    }
+}
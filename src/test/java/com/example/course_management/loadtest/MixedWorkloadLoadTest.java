@@ -0,0 +1,282 @@
+package com.example.course_management.loadtest;
+
+import com.example.course_management.entity.User;
+import com.example.course_management.repository.AbsenceRequestRepository;
+import com.example.course_management.repository.CourseRepository;
+import com.example.course_management.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives a mixed teacher / admin / direction / anonymous workload over HTTP against the full application
+ * (H2 and an in-process GreenMail SMTP server), then reports throughput and latency percentiles per endpoint.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Ploadtest test}. Volumes, concurrency, duration and
+ * the scenario mix come from {@code application-loadtest.properties} and can be overridden with {@code -D}.
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class MixedWorkloadLoadTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort())
+            .withPerMethodLifecycle(false);
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", () -> greenMail.getSmtp().getPort());
+    }
+
+    private record Session(User user, String token) {
+    }
+
+    // One request of a scenario: a stable label for the report plus the request to send
+    private record Call(String endpoint, HttpRequest request) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private AbsenceRequestRepository absenceRequestRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.teachers}") private int teacherCount;
+    @Value("${loadtest.students}") private int studentCount;
+    @Value("${loadtest.admins}") private int adminCount;
+    @Value("${loadtest.directions}") private int directionCount;
+    @Value("${loadtest.courses-per-teacher}") private int coursesPerTeacher;
+    @Value("${loadtest.absences-per-teacher}") private int absencesPerTeacher;
+    @Value("${loadtest.concurrency}") private int concurrency;
+    @Value("${loadtest.warmup}") private Duration warmup;
+    @Value("${loadtest.duration}") private Duration duration;
+    @Value("${loadtest.mix.teacher}") private int teacherWeight;
+    @Value("${loadtest.mix.admin}") private int adminWeight;
+    @Value("${loadtest.mix.direction}") private int directionWeight;
+    @Value("${loadtest.mix.public}") private int publicWeight;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private LoadTestData data;
+    private List<Session> teacherSessions;
+    private List<Session> adminSessions;
+    private List<Session> directionSessions;
+    private final AtomicInteger proposals = new AtomicInteger();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        data = new LoadTestData(userRepository, courseRepository, absenceRequestRepository);
+        // One hash for every seeded account: BCrypt per row would dominate seeding time
+        data.seed(passwordEncoder.encode(LoadTestData.PASSWORD), teacherCount, studentCount, adminCount,
+                directionCount, coursesPerTeacher, absencesPerTeacher);
+        teacherSessions = login(data.teachers);
+        adminSessions = login(data.admins);
+        directionSessions = login(data.directions);
+
+        LatencyReport report = run();
+
+        List<LatencyReport.Row> rows = report.rows(duration.toMillis() / 1000.0);
+        System.out.printf("%nLoad test: %d teachers, %d students, %d courses, %d absence requests, concurrency %d, %ds%n",
+                teacherCount, studentCount, teacherCount * coursesPerTeacher, data.absenceRequestIds.size(),
+                concurrency, duration.toSeconds());
+        report.print(rows, System.out);
+        System.out.printf("Emails delivered to SMTP sink: %d%n", greenMail.getReceivedMessages().length);
+        report.writeCsv(rows, Path.of("target", "loadtest", "report.csv"));
+
+        long requests = rows.stream().mapToLong(LatencyReport.Row::requests).sum();
+        long serverErrors = rows.stream().mapToLong(LatencyReport.Row::serverErrors).sum();
+        assertTrue(requests > 0, "no requests completed");
+        assertEquals(0, serverErrors, "requests failed with a 5xx other than 503 or without a response");
+    }
+
+    private LatencyReport run() throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < stopAt) {
+                    Call call = nextCall(ThreadLocalRandom.current());
+                    long started = System.nanoTime();
+                    int status = send(call.request());
+                    if (started >= measureFrom) {
+                        report.record(call.endpoint(), System.nanoTime() - started, status);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS),
+                "workers did not finish");
+        return report;
+    }
+
+    private Call nextCall(ThreadLocalRandom random) {
+        int pick = random.nextInt(teacherWeight + adminWeight + directionWeight + publicWeight);
+        if (pick < teacherWeight) {
+            return teacherCall(random, pickSession(teacherSessions, random));
+        }
+        pick -= teacherWeight;
+        if (pick < adminWeight) {
+            return adminCall(random, pickSession(adminSessions, random));
+        }
+        pick -= adminWeight;
+        if (pick < directionWeight) {
+            return directionCall(random, pickSession(directionSessions, random));
+        }
+        return new Call("GET /courses/approved", get("/courses/approved", null));
+    }
+
+    private Call teacherCall(ThreadLocalRandom random, Session teacher) {
+        int pick = random.nextInt(100);
+        if (pick < 25) {
+            return new Call("GET /api/teacher/dashboard", get("/api/teacher/dashboard", teacher));
+        }
+        if (pick < 45) {
+            return new Call("GET /api/teacher/courses", get("/api/teacher/courses", teacher));
+        }
+        if (pick < 65) {
+            return new Call("GET /api/teacher/absence-requests", get("/api/teacher/absence-requests", teacher));
+        }
+        if (pick < 80) {
+            return new Call("GET /api/teacher/makeup-proposals/pending", get("/api/teacher/makeup-proposals/pending", teacher));
+        }
+        List<Long> courseIds = data.courseIdsByTeacher.get(teacher.user().getId());
+        Long courseId = courseIds.get(random.nextInt(courseIds.size()));
+        return new Call("POST /api/teacher/absence-requests", post("/api/teacher/absence-requests", teacher,
+                Map.of("courseId", courseId, "justification", "Load test absence")));
+    }
+
+    private Call adminCall(ThreadLocalRandom random, Session admin) {
+        int pick = random.nextInt(100);
+        if (pick < 40) {
+            return new Call("GET /api/admin/absence-requests", get("/api/admin/absence-requests", admin));
+        }
+        if (pick < 65) {
+            return new Call("GET /api/admin/courses", get("/api/admin/courses", admin));
+        }
+        if (pick < 85) {
+            Session teacher = pickSession(teacherSessions, random);
+            return new Call("POST /api/admin/makeup-courses/propose", post("/api/admin/makeup-courses/propose", admin,
+                    Map.of("courseName", "Load test makeup " + proposals.incrementAndGet(),
+                            "description", "Proposed during load test",
+                            "timetable", "Saturday 09:00-11:00",
+                            "teacherId", teacher.user().getId())));
+        }
+        // Approval fans out an email to every student, so it is the expensive admin action
+        Long requestId = data.absenceRequestIds.get(random.nextInt(data.absenceRequestIds.size()));
+        return new Call("PUT /api/admin/absence-requests/{id}/approve",
+                put("/api/admin/absence-requests/" + requestId + "/approve", admin));
+    }
+
+    private Call directionCall(ThreadLocalRandom random, Session direction) {
+        int pick = random.nextInt(100);
+        if (pick < 40) {
+            return new Call("GET /api/direction/approved-courses", get("/api/direction/approved-courses", direction));
+        }
+        if (pick < 70) {
+            return new Call("GET /api/direction/approved-absences", get("/api/direction/approved-absences", direction));
+        }
+        Long teacherId = pickSession(teacherSessions, random).user().getId();
+        return new Call("GET /api/direction/teachers/{teacherId}/courses",
+                get("/api/direction/teachers/" + teacherId + "/courses", direction));
+    }
+
+    private List<Session> login(List<User> users) throws Exception {
+        List<Session> sessions = new ArrayList<>();
+        for (User user : users) {
+            HttpRequest request = post("/api/auth/login", null,
+                    Map.of("username", user.getEmail(), "password", LoadTestData.PASSWORD));
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), "login failed for " + user.getEmail() + ": " + response.body());
+            JsonNode body = objectMapper.readTree(response.body());
+            sessions.add(new Session(user, body.path("tokens").path("accessToken").asText()));
+        }
+        return sessions;
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static Session pickSession(List<Session> sessions, ThreadLocalRandom random) {
+        return sessions.get(random.nextInt(sessions.size()));
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return request(path, session).GET().build();
+    }
+
+    private HttpRequest put(String path, Session session) {
+        return request(path, session).PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest post(String path, Session session, Map<String, ?> body) {
+        try {
+            return request(path, session)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+}
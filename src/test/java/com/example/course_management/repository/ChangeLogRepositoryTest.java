@@ -0,0 +1,55 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.ChangeLogEntry;
+import com.example.course_management.event.ChangeType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+public class ChangeLogRepositoryTest {
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testChangedAtIsStampedByTheDatabase() {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setEntityType(ChangeLogEntry.EntityType.COURSE);
+        entry.setEntityId(1L);
+        entry.setChangeType(ChangeType.CREATED);
+        entry.setStatus("PENDING");
+        Long id = changeLogRepository.saveAndFlush(entry).getId();
+        entityManager.clear();
+
+        assertNotNull(changeLogRepository.findById(id).orElseThrow().getChangedAt());
+    }
+
+    @Test
+    void testDatabaseTimeIsTheClockThatStampsEntries() {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setEntityType(ChangeLogEntry.EntityType.COURSE);
+        entry.setEntityId(1L);
+        entry.setChangeType(ChangeType.CREATED);
+        Long id = changeLogRepository.saveAndFlush(entry).getId();
+        entityManager.clear();
+
+        LocalDateTime changedAt = changeLogRepository.findById(id).orElseThrow().getChangedAt();
+        LocalDateTime databaseNow = changeLogRepository.findDatabaseTime();
+
+        assertFalse(databaseNow.isBefore(changedAt.withNano(0)));
+        assertTrue(Duration.between(changedAt, databaseNow).abs().toSeconds() < 60);
+    }
+}
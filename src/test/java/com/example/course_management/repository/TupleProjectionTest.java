@@ -0,0 +1,158 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.Course;
+import com.example.course_management.entity.User;
+import com.example.course_management.exception.InvalidFieldsetException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.course_management.repository.TupleProjectionTest$RecordingInspector"
+})
+public class TupleProjectionTest {
+
+    // Records every SQL statement, so tests can tell whether a projection joined
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase());
+            return sql;
+        }
+    }
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User alice;
+    private User bob;
+    private Course algebra;
+
+    @BeforeEach
+    void setUp() {
+        alice = teacher("alice@example.com", "Alice");
+        bob = teacher("bob@example.com", "Bob");
+        algebra = course("Algebra", "APPROVED", alice);
+        course("Biology", "PENDING", alice);
+        course("Chemistry", "APPROVED", bob);
+        absence(alice, algebra, "APPROVED");
+        absence(alice, null, "PENDING");
+        absence(bob, null, "APPROVED");
+        absenceRequestRepository.flush();
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    private User teacher(String email, String fullName) {
+        User user = new User();
+        user.setUsername(email);
+        user.setEmail(email);
+        user.setFullName(fullName);
+        user.setRole("TEACHER");
+        return userRepository.save(user);
+    }
+
+    private Course course(String name, String status, User teacher) {
+        Course course = new Course();
+        course.setCourseName(name);
+        course.setName(name.toUpperCase());
+        course.setStatus(status);
+        course.setTeacher(teacher);
+        return courseRepository.save(course);
+    }
+
+    private void absence(User teacher, Course course, String status) {
+        AbsenceRequest request = new AbsenceRequest();
+        request.setTeacher(teacher);
+        request.setCourse(course);
+        request.setJustification("sick");
+        request.setStatus(status);
+        request.setSubmittedAt(LocalDateTime.now());
+        absenceRequestRepository.save(request);
+    }
+
+    private static String lastStatement() {
+        return RecordingInspector.STATEMENTS.get(RecordingInspector.STATEMENTS.size() - 1);
+    }
+
+    @Test
+    void testIdIsAlwaysSelectedAndOnlyRequestedFieldsReturned() {
+        List<Map<String, Object>> rows = courseRepository.findFields(List.of("status", " courseName ", ""), null, null);
+
+        assertEquals(3, rows.size());
+        assertEquals(List.of("id", "status", "courseName"), List.copyOf(rows.get(0).keySet()));
+        assertEquals("Algebra", rows.get(0).get("courseName"));
+        assertEquals(algebra.getId(), rows.get(0).get("id"));
+    }
+
+    @Test
+    void testUnknownFieldIsABadRequest() {
+        InvalidFieldsetException e = assertThrows(InvalidFieldsetException.class,
+                () -> courseRepository.findFields(List.of("status", "password"), null, null));
+
+        assertTrue(e.getMessage().contains("'password'"));
+        assertEquals(HttpStatus.BAD_REQUEST, InvalidFieldsetException.class.getAnnotation(ResponseStatus.class).value());
+        assertThrows(InvalidFieldsetException.class, () -> absenceRequestRepository.findFields(List.of("teacherEmail"), null, null));
+    }
+
+    @Test
+    void testJoinsOnlyWhenAnAssociationFieldIsRequested() {
+        courseRepository.findFields(List.of("status", "teacherId"), null, null);
+        String plain = lastStatement();
+        List<Map<String, Object>> named = courseRepository.findFields(List.of("teacherName", "teacherEmail"), null, null);
+        String joined = lastStatement();
+
+        assertFalse(plain.contains(" join "), plain);
+        assertTrue(joined.contains("left join"), joined);
+        // Both teacher fields share the one join
+        assertEquals(1, joined.split(" join ", -1).length - 1, joined);
+        assertEquals("Alice", named.get(0).get("teacherName"));
+        assertEquals("alice@example.com", named.get(0).get("teacherEmail"));
+    }
+
+    @Test
+    void testAbsenceRequestsWithoutACourseSurviveTheCourseJoin() {
+        List<Map<String, Object>> rows = absenceRequestRepository.findFields(List.of("courseName"), null, null);
+
+        assertTrue(lastStatement().contains("left join"));
+        assertEquals(3, rows.size());
+        assertEquals("Algebra", rows.get(0).get("courseName"));
+        assertNull(rows.get(1).get("courseName"));
+    }
+
+    @Test
+    void testTeacherAndStatusFilters() {
+        List<Map<String, Object>> aliceApproved = courseRepository.findFields(List.of("courseName"), alice.getId(), "APPROVED");
+        List<Map<String, Object>> approved = courseRepository.findFields(List.of("courseName"), null, "APPROVED");
+        List<Map<String, Object>> bobsAbsences = absenceRequestRepository.findFields(List.of("status"), bob.getId(), null);
+        List<Map<String, Object>> alicePending = absenceRequestRepository.findFields(List.of("status"), alice.getId(), "PENDING");
+
+        assertEquals(List.of("Algebra"), aliceApproved.stream().map(row -> row.get("courseName")).toList());
+        assertEquals(List.of("Algebra", "Chemistry"), approved.stream().map(row -> row.get("courseName")).toList());
+        assertEquals(1, bobsAbsences.size());
+        assertEquals("APPROVED", bobsAbsences.get(0).get("status"));
+        assertEquals(1, alicePending.size());
+        assertEquals("PENDING", alicePending.get(0).get("status"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.course_management.repository;
+
+import com.example.course_management.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+public class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User invite(String email) {
+        User user = new User();
+        user.setUsername(email);
+        user.setEmail(email);
+        user.setFullName("Invited Teacher");
+        user.setRole("TEACHER");
+        return userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void testPendingInviteCanOnlyBeActivatedOnce() {
+        Long id = invite("invited@example.com").getId();
+
+        assertEquals(1, userRepository.activatePendingInvite(id, "{bcrypt}first"));
+        assertEquals(0, userRepository.activatePendingInvite(id, "{bcrypt}second"));
+
+        User activated = userRepository.findById(id).orElseThrow();
+        assertTrue(activated.isActivated());
+        assertEquals("{bcrypt}first", activated.getPassword());
+    }
+
+    @Test
+    void testEmailIsUniqueEvenUnderADifferentUsername() {
+        invite("twice@example.com");
+
+        User other = new User();
+        other.setUsername("someone-else");
+        other.setEmail("twice@example.com");
+        other.setRole("TEACHER");
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(other));
+    }
+}
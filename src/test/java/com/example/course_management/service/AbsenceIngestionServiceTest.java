@@ -0,0 +1,238 @@
+package com.example.course_management.service;
+
+import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.dto.AbsenceSubmissionDTO;
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.Course;
+import com.example.course_management.entity.User;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.Actor;
+import com.example.course_management.exception.ResourceNotFoundException;
+import com.example.course_management.exception.SubmissionPendingException;
+import com.example.course_management.repository.AbsenceRequestRepository;
+import com.example.course_management.repository.CourseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AbsenceIngestionServiceTest {
+
+    @Mock
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private AbsenceIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        User teacher = new User();
+        teacher.setId(7L);
+        Course course = new Course();
+        course.setId(3L);
+        course.setCourseName("Algebra");
+        course.setTeacher(teacher);
+        when(courseRepository.findById(3L)).thenReturn(Optional.of(course));
+        service = new AbsenceIngestionService(absenceRequestRepository, courseRepository, eventPublisher,
+                transactionManager, new SimpleMeterRegistry(), 100, 50, Duration.ofSeconds(5), Duration.ofMinutes(5),
+                Duration.ofHours(1));
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+    }
+
+    private List<Long> assignIds(List<AbsenceRequest> requests) {
+        batchSizes.add(requests.size());
+        return LongStream.range(0, requests.size()).mapToObj(i -> nextId.getAndIncrement()).toList();
+    }
+
+    @Test
+    void testSubmitReturnsCommittedRequest() {
+        when(absenceRequestRepository.batchInsert(anyList())).thenAnswer(inv -> assignIds(inv.getArgument(0)));
+
+        AbsenceRequestDTO dto = service.submit(7L, "Teacher Seven", 3L, "sick");
+
+        assertEquals(1L, dto.getId());
+        assertEquals("Algebra", dto.getCourseName());
+        assertEquals("PENDING", dto.getStatus());
+        verify(transactionManager).commit(any());
+        verify(eventPublisher).publishEvent(any(AbsenceRequestChangedEvent.class));
+    }
+
+    @Test
+    void testWriterThreadPublishesTheSubmittersIdentity() {
+        when(absenceRequestRepository.batchInsert(anyList())).thenAnswer(inv -> assignIds(inv.getArgument(0)));
+        UsernamePasswordAuthenticationToken teacher = new UsernamePasswordAuthenticationToken("seven@example.com", null, List.of());
+        teacher.setDetails(7L);
+        SecurityContextHolder.getContext().setAuthentication(teacher);
+        try {
+            service.submit(7L, "Teacher Seven", 3L, "sick");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        ArgumentCaptor<AbsenceRequestChangedEvent> event = ArgumentCaptor.forClass(AbsenceRequestChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(new Actor(7L, "seven@example.com"), event.getValue().actor());
+    }
+
+    @Test
+    void testConcurrentSubmissionsShareCommits() throws Exception {
+        // The first insert blocks until every other submission has queued behind it, so they must all be
+        // drained as one second batch (the first may already hold more than one, depending on timing)
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger firstBatch = new AtomicInteger();
+        when(absenceRequestRepository.batchInsert(anyList())).thenAnswer(inv -> {
+            List<AbsenceRequest> requests = inv.getArgument(0);
+            if (firstBatch.compareAndSet(0, requests.size())) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return assignIds(requests);
+        });
+        ExecutorService clients = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<AbsenceRequestDTO>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(clients.submit(() -> service.submit(7L, "Teacher Seven", 3L, "sick")));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (firstBatch.get() + service.getQueueSize() < 20 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<AbsenceRequestDTO> result : results) {
+                assertNotNull(result.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(2, batchSizes.size());
+        assertEquals(20, batchSizes.get(0) + batchSizes.get(1));
+    }
+
+    @Test
+    void testFailedBatchOnlyFailsBadRows() throws Exception {
+        // Any batch containing the "bad" justification fails, as a constraint violation would
+        when(absenceRequestRepository.batchInsert(anyList())).thenAnswer(inv -> {
+            List<AbsenceRequest> requests = inv.getArgument(0);
+            if (requests.stream().anyMatch(r -> "bad".equals(r.getJustification()))) {
+                throw new DataIntegrityViolationException("bad row");
+            }
+            return assignIds(requests);
+        });
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            Future<AbsenceRequestDTO> good = clients.submit(() -> service.submit(7L, "Teacher Seven", 3L, "ok"));
+            Future<AbsenceRequestDTO> bad = clients.submit(() -> service.submit(7L, "Teacher Seven", 3L, "bad"));
+
+            assertNotNull(good.get(5, TimeUnit.SECONDS).getId());
+            Exception failure = assertThrows(Exception.class, () -> bad.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSlowCommitIsAcceptedWithATicketInsteadOfFailing() throws Exception {
+        service.stop();
+        service = new AbsenceIngestionService(absenceRequestRepository, courseRepository, eventPublisher,
+                transactionManager, new SimpleMeterRegistry(), 100, 50, Duration.ofMillis(50), Duration.ofMinutes(5),
+                Duration.ofHours(1));
+        service.start();
+        CountDownLatch release = new CountDownLatch(1);
+        when(absenceRequestRepository.batchInsert(anyList())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return assignIds(inv.getArgument(0));
+        });
+
+        SubmissionPendingException pending = assertThrows(SubmissionPendingException.class,
+                () -> service.submit(7L, "Teacher Seven", 3L, "sick"));
+        String ticket = pending.getTicket();
+        assertEquals("PENDING", service.getSubmission(7L, ticket).status());
+        assertThrows(ResourceNotFoundException.class, () -> service.getSubmission(8L, ticket));
+
+        release.countDown();
+        AbsenceSubmissionDTO committed = service.getSubmission(7L, ticket);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (committed.status().equals("PENDING") && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            committed = service.getSubmission(7L, ticket);
+        }
+        assertEquals("COMMITTED", committed.status());
+        assertEquals(1L, committed.request().getId());
+        assertEquals("Algebra", committed.request().getCourseName());
+        // The slow submission was inserted exactly once
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    void testRejectsCourseOfAnotherTeacher() {
+        assertThrows(AccessDeniedException.class, () -> service.submit(8L, "Teacher Eight", 3L, "sick"));
+        verify(absenceRequestRepository, never()).batchInsert(anyList());
+    }
+
+    @Test
+    void testRejectsUnknownCourse() {
+        when(courseRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.submit(7L, "Teacher Seven", 99L, "sick"));
+    }
+
+    @Test
+    void testCourseLookupIsCached() {
+        when(absenceRequestRepository.batchInsert(anyList())).thenAnswer(inv -> assignIds(inv.getArgument(0)));
+
+        service.submit(7L, "Teacher Seven", 3L, "a");
+        service.submit(7L, "Teacher Seven", 3L, "b");
+
+        verify(courseRepository, times(1)).findById(3L);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantProperties;
+import com.example.course_management.config.TenantRegistry;
+import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.entity.AbsenceRequest;
+import com.example.course_management.entity.ArchivedAbsenceRequest;
+import com.example.course_management.entity.Course;
+import com.example.course_management.entity.User;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.repository.AbsenceRequestRepository;
+import com.example.course_management.repository.ArchivedAbsenceRequestRepository;
+import com.example.course_management.repository.CourseRepository;
+import com.example.course_management.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: each archival batch must commit (or roll back) on its own, as in production
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AbsenceRequestArchiveServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Autowired
+    private ArchivedAbsenceRequestRepository archivedAbsenceRequestRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<AbsenceRequestChangedEvent> events = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Long> failOn = Collections.synchronizedSet(new HashSet<>());
+    private AbsenceRequestArchiveService service;
+    private User teacher;
+    private User otherTeacher;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        service = new AbsenceRequestArchiveService(absenceRequestRepository, archivedAbsenceRequestRepository,
+                transactionManager, event -> {
+                    AbsenceRequestChangedEvent changed = (AbsenceRequestChangedEvent) event;
+                    if (failOn.contains(changed.requestId())) {
+                        throw new IllegalStateException("listener failed for " + changed.requestId());
+                    }
+                    events.add(changed);
+                }, new TenantRegistry(new TenantProperties(false, "X-Tenant-ID", null), "direction@example.com"));
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "retentionDays", 180);
+        teacher = teacher("archive.teacher@example.com");
+        otherTeacher = teacher("other.teacher@example.com");
+        course = new Course();
+        course.setCourseName("Algebra");
+        course.setName("ALGEBRA");
+        course.setStatus("APPROVED");
+        course.setTeacher(teacher);
+        course = courseRepository.save(course);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archivedAbsenceRequestRepository.deleteAllInBatch();
+        absenceRequestRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private User teacher(String email) {
+        User user = new User();
+        user.setUsername(email);
+        user.setEmail(email);
+        user.setFullName("Teacher " + email);
+        user.setRole("TEACHER");
+        user.setActivated(true);
+        return userRepository.save(user);
+    }
+
+    private Long request(User owner, String status, LocalDateTime submittedAt) {
+        AbsenceRequest request = new AbsenceRequest();
+        request.setTeacher(owner);
+        request.setCourse(course);
+        request.setJustification("sick");
+        request.setStatus(status);
+        request.setSubmittedAt(submittedAt);
+        return absenceRequestRepository.save(request).getId();
+    }
+
+    @Test
+    void testArchivesClosedRequestsBeforeTheCutoffAcrossBatches() {
+        // Five closed rows with a batch size of two: batches of 2, 2 and 1
+        List<Long> closed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            closed.add(request(teacher, i % 2 == 0 ? "APPROVED" : "REJECTED", CUTOFF.minusDays(10 - i)));
+        }
+        Long pending = request(teacher, "PENDING", CUTOFF.minusDays(30));
+        Long recent = request(teacher, "APPROVED", CUTOFF.plusDays(1));
+
+        assertEquals(5, service.archive(CUTOFF));
+
+        assertEquals(Set.copyOf(closed), Set.copyOf(archivedAbsenceRequestRepository.findAll().stream().map(ArchivedAbsenceRequest::getId).toList()));
+        assertEquals(Set.of(pending, recent), Set.copyOf(absenceRequestRepository.findAll().stream().map(AbsenceRequest::getId).toList()));
+        assertEquals(5, events.size());
+        assertTrue(events.stream().allMatch(event -> "absence-archival".equals(event.actor().name())));
+        assertEquals("Algebra", archivedAbsenceRequestRepository.findById(closed.get(0)).orElseThrow().getCourseName());
+    }
+
+    @Test
+    void testExactMultipleOfTheBatchSizeStopsOnTheEmptyBatch() {
+        for (int i = 0; i < 4; i++) {
+            request(teacher, "APPROVED", CUTOFF.minusDays(i + 1));
+        }
+
+        assertEquals(4, service.archive(CUTOFF));
+        assertEquals(0, absenceRequestRepository.count());
+        assertEquals(0, service.archive(CUTOFF));
+    }
+
+    @Test
+    void testRequestSubmittedExactlyAtTheCutoffStaysLive() {
+        Long atCutoff = request(teacher, "APPROVED", CUTOFF);
+        Long justBefore = request(teacher, "APPROVED", CUTOFF.minusNanos(1_000));
+
+        assertEquals(1, service.archive(CUTOFF));
+
+        assertTrue(absenceRequestRepository.existsById(atCutoff));
+        assertTrue(archivedAbsenceRequestRepository.existsById(justBefore));
+    }
+
+    @Test
+    void testFailedBatchRollsBackAloneAndRerunResumes() {
+        List<Long> closed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            closed.add(request(teacher, "APPROVED", CUTOFF.minusDays(10 - i)));
+        }
+        // Oldest first: the third row is in the second batch
+        failOn.add(closed.get(2));
+
+        assertThrows(IllegalStateException.class, () -> service.archive(CUTOFF));
+
+        assertEquals(Set.of(closed.get(0), closed.get(1)),
+                Set.copyOf(archivedAbsenceRequestRepository.findAll().stream().map(ArchivedAbsenceRequest::getId).toList()));
+        assertEquals(3, absenceRequestRepository.count());
+
+        failOn.clear();
+        assertEquals(3, service.archive(CUTOFF));
+        assertEquals(5, archivedAbsenceRequestRepository.count());
+        assertEquals(0, absenceRequestRepository.count());
+    }
+
+    @Test
+    void testHistoryMergesLiveAndArchivedRequestsNewestFirst() {
+        Long archived = request(teacher, "APPROVED", CUTOFF.minusDays(5));
+        service.archive(CUTOFF);
+        Long live = request(teacher, "PENDING", CUTOFF.minusDays(2));
+        Long otherTeachers = request(otherTeacher, "PENDING", CUTOFF.minusDays(3));
+        request(teacher, "PENDING", CUTOFF.minusDays(60));
+
+        List<AbsenceRequestDTO> all = service.getHistory(null, CUTOFF.minusDays(30), CUTOFF);
+        List<AbsenceRequestDTO> teachers = service.getHistory(teacher.getId(), CUTOFF.minusDays(30), CUTOFF);
+
+        assertEquals(List.of(live, otherTeachers, archived), all.stream().map(AbsenceRequestDTO::getId).toList());
+        assertEquals(List.of(live, archived), teachers.stream().map(AbsenceRequestDTO::getId).toList());
+        assertEquals("Algebra", teachers.get(0).getCourseName());
+        assertEquals("Algebra", teachers.get(1).getCourseName());
+    }
+}
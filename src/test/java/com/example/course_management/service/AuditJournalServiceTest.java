@@ -0,0 +1,94 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.dto.AuditEntryDTO;
+import com.example.course_management.entity.ChangeLogEntry;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.Actor;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditJournalServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditJournalService journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = new AuditJournalService(true, directory, DataSize.ofKilobytes(64), 100);
+        journal.open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    private static List<AuditEntryDTO> lastHour(AuditJournalService journal) {
+        return journal.query(LocalDateTime.now().minusHours(1), LocalDateTime.now().plusMinutes(1), null, null, 100);
+    }
+
+    @Test
+    void testRecordsTransitionsWithTheActorCarriedByTheEvent() {
+        Actor admin = new Actor(1L, "admin@example.com");
+
+        journal.onAbsenceRequestChanged(new AbsenceRequestChangedEvent(10L, 7L, ChangeType.UPDATED, "PENDING", "APPROVED", admin));
+        // Not a status transition
+        journal.onCourseChanged(new CourseChangedEvent(20L, 7L, ChangeType.UPDATED, "APPROVED", "APPROVED", admin));
+        journal.onCourseChanged(new CourseChangedEvent(21L, null, ChangeType.DELETED, "REJECTED", null, null));
+        journal.onAbsenceRequestChanged(new AbsenceRequestChangedEvent(11L, 7L, ChangeType.DELETED, "APPROVED", null,
+                Actor.system("absence-archival")));
+
+        List<AuditEntryDTO> entries = lastHour(journal);
+        assertEquals(3, entries.size());
+        AuditEntryDTO approval = entries.get(0);
+        assertEquals(ChangeLogEntry.EntityType.ABSENCE_REQUEST, approval.entityType());
+        assertEquals(10L, approval.entityId());
+        assertEquals("PENDING", approval.oldStatus());
+        assertEquals("APPROVED", approval.newStatus());
+        assertEquals(7L, approval.teacherId());
+        assertEquals(1L, approval.actorId());
+        assertEquals("admin@example.com", approval.actor());
+        AuditEntryDTO deletion = entries.get(1);
+        assertNull(deletion.newStatus());
+        assertNull(deletion.teacherId());
+        assertNull(deletion.actor());
+        AuditEntryDTO archival = entries.get(2);
+        assertNull(archival.actorId());
+        assertEquals("absence-archival", archival.actor());
+    }
+
+    @Test
+    void testQueryFiltersByTenantEntityAndSurvivesReopen() throws IOException {
+        journal.onCourseChanged(new CourseChangedEvent(1L, 7L, ChangeType.UPDATED, "PENDING", "APPROVED", null));
+        journal.onCourseChanged(new CourseChangedEvent(2L, 7L, ChangeType.UPDATED, "PENDING", "REJECTED", null));
+        TenantContext.runAs("north", () ->
+                journal.onCourseChanged(new CourseChangedEvent(1L, 7L, ChangeType.UPDATED, "PENDING", "REJECTED", null)));
+        journal.close();
+        journal = new AuditJournalService(true, directory, DataSize.ofKilobytes(64), 100);
+        journal.open();
+
+        LocalDateTime from = LocalDateTime.now().minusHours(1);
+        LocalDateTime to = LocalDateTime.now().plusMinutes(1);
+        assertEquals(2, lastHour(journal).size());
+        List<AuditEntryDTO> course1 = journal.query(from, to, ChangeLogEntry.EntityType.COURSE, 1L, 100);
+        assertEquals(1, course1.size());
+        assertEquals("APPROVED", course1.get(0).newStatus());
+        assertEquals("north", TenantContext.callAs("north", () -> lastHour(journal)).get(0).tenantId());
+        assertTrue(journal.query(from, from.plusMinutes(1), null, null, 100).isEmpty());
+    }
+}
@@ -10,6 +10,8 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,6 +22,12 @@ public class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthService authService;
 
@@ -58,14 +66,14 @@ public class AuthServiceTest {
         // Given
         String existingEmail = "existing@example.com";
         String fullName = "Existing User";
-        String token = "someToken";
 
         // Configure the mock UserRepository to return true for existsByEmail
+        when(userExistenceFilter.mightContainEmail(existingEmail)).thenReturn(true);
         when(userRepository.existsByEmail(existingEmail)).thenReturn(true);
 
         // When & Then
         RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
-            authService.createTeacherInvite(existingEmail, fullName, token);
+            authService.createTeacherInvite(existingEmail, fullName);
         });
 
         // Verify the exception message
@@ -74,5 +82,47 @@ public class AuthServiceTest {
         // Verify that userRepository.save was never called
         verify(userRepository, never()).save(any(User.class));
     }
+
+    @Test
+    void testCreateTeacherInvite_whenFilterRulesOutEmail_shouldSkipExistenceQuery() {
+        // Given
+        String newEmail = "new@example.com";
+        when(userExistenceFilter.mightContainEmail(newEmail)).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User invited = authService.createTeacherInvite(newEmail, "New Teacher");
+
+        // Then
+        assertEquals(newEmail, invited.getEmail());
+        assertFalse(invited.isActivated());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void testCreateTeacherInvite_whenEmailInsertedConcurrently_shouldThrowRuntimeException() {
+        String email = "race@example.com";
+        when(userExistenceFilter.mightContainEmail(email)).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("uk_users_email"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.createTeacherInvite(email, "Racing Teacher"));
+
+        assertEquals("Email already exists: " + email, exception.getMessage());
+    }
+
+    @Test
+    void testCompleteTeacherRegistration_whenInviteAlreadyClaimed_shouldThrowRuntimeException() {
+        // Given: a concurrent completion activated the row first
+        when(userRepository.activatePendingInvite(7L, "{bcrypt}hash")).thenReturn(0);
+        when(userRepository.existsById(7L)).thenReturn(true);
+
+        // When & Then
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> authService.completeTeacherRegistration(7L, "{bcrypt}hash"));
+        assertEquals("Invitation has already been used", thrown.getMessage());
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(eventPublisher);
+    }
     //dezfezf
 }
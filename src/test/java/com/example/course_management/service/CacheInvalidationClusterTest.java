@@ -0,0 +1,113 @@
+package com.example.course_management.service;
+
+import com.example.course_management.CourseManagementApplication;
+import com.example.course_management.entity.Course;
+import com.example.course_management.entity.User;
+import com.example.course_management.repository.CourseRepository;
+import com.example.course_management.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application instances in one JVM sharing an H2 database, as two nodes would share MySQL: a write on one
+ * must evict the other's caches within a few poll intervals. Run with {@code mvn -Pcluster test}.
+ */
+@Tag("cluster")
+public class CacheInvalidationClusterTest {
+
+    private static final long POLL_INTERVAL_MS = 100;
+    // Staleness is bounded by the poll interval; the rest is slack for the scheduler on a loaded build machine
+    private static final long STALENESS_BOUND_MS = 10 * POLL_INTERVAL_MS;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = start("create-drop");
+        nodeB = start("none");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String ddlAuto) {
+        // Command-line arguments, so they win over application.properties
+        return new SpringApplicationBuilder(CourseManagementApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:cluster;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.host=localhost",
+                "--logging.level.root=WARN",
+                "--registration-token.secret=Y2x1c3Rlci10ZXN0LXJlZ2lzdHJhdGlvbi1zZWNyZXQ=",
+                "--cache-invalidation.poll-interval=" + POLL_INTERVAL_MS,
+                "--cache-invalidation.settle-lag=1s",
+                // Each instance owns its journal directory
+                "--audit.journal.directory=target/audit/cluster-" + ddlAuto);
+    }
+
+    @Test
+    void testWritesOnOneNodeEvictCachesOnTheOther() throws InterruptedException {
+        User teacher = new User();
+        teacher.setUsername("cluster.teacher@example.com");
+        teacher.setEmail("cluster.teacher@example.com");
+        teacher.setFullName("Before Rename");
+        teacher.setRole("ROLE_TEACHER");
+        teacher.setActivated(true);
+        teacher = nodeA.getBean(UserRepository.class).save(teacher);
+        Course course = new Course();
+        course.setCourseName("Distributed Systems");
+        course.setName("DS-101");
+        course.setStatus("PENDING");
+        course.setTeacher(teacher);
+        course = nodeA.getBean(CourseRepository.class).save(course);
+
+        // Warm node B's caches, and make sure its poller is past the setup rows
+        PrincipalCacheService principalsB = nodeB.getBean(PrincipalCacheService.class);
+        CollectionVersionService versionsB = nodeB.getBean(CollectionVersionService.class);
+        nodeB.getBean(CacheInvalidationService.class).poll();
+        assertEquals("Before Rename", principalsB.resolve(teacher.getEmail()).fullName());
+        long coursesVersion = versionsB.current(CollectionVersionService.Collection.COURSES);
+
+        nodeA.getBean(CourseService.class).updateCourseStatus(course.getId(), "APPROVED");
+        teacher.setFullName("After Rename");
+        nodeA.getBean(UserRepository.class).save(teacher);
+        String email = teacher.getEmail();
+
+        assertTrue(await(() -> versionsB.current(CollectionVersionService.Collection.COURSES) > coursesVersion
+                        && "After Rename".equals(principalsB.resolve(email).fullName())),
+                "node B still serves pre-change data after " + STALENESS_BOUND_MS + " ms");
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + STALENESS_BOUND_MS * 1_000_000;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
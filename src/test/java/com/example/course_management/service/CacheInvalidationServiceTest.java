@@ -0,0 +1,94 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantProperties;
+import com.example.course_management.config.TenantRegistry;
+import com.example.course_management.entity.CacheInvalidation;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.CacheInvalidationEvent;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.repository.CacheInvalidationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CacheInvalidationServiceTest {
+
+    private final CacheInvalidationRepository repository = mock(CacheInvalidationRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private CacheInvalidationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CacheInvalidationService(repository, eventPublisher,
+                new TenantRegistry(new TenantProperties(false, "X-Tenant-ID", null), "direction@example.com"), true, Duration.ofSeconds(5), 100);
+    }
+
+    private static CacheInvalidation row(long id, String nodeId, Long courseId, LocalDateTime createdAt) {
+        return new CacheInvalidation(id, CacheInvalidation.EntityType.COURSE, courseId, ChangeType.UPDATED, nodeId, createdAt);
+    }
+
+    @Test
+    void testFirstPollStartsAfterExistingRows() {
+        when(repository.findLatestId()).thenReturn(41L);
+
+        service.poll();
+        service.poll();
+
+        verify(repository).findByIdGreaterThanOrderByIdAsc(eq(41L), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testAppliesOtherNodesRowsOnceAndOnlyPassesSettledOnes() {
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime recent = LocalDateTime.now();
+        when(repository.findLatestId()).thenReturn(null);
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(
+                row(1, "other", 10L, old),
+                row(2, service.getNodeId(), 11L, old),
+                row(3, "other", 12L, recent)));
+        // Row 3 is not settled, so the cursor stops at 2 and row 3 is read again
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(2L), any())).thenReturn(List.of(
+                row(3, "other", 12L, recent),
+                row(4, "other", 13L, recent)));
+
+        service.poll();
+        service.poll();
+        service.poll();
+
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(CacheInvalidation.EntityType.COURSE, 10L, ChangeType.UPDATED));
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(CacheInvalidation.EntityType.COURSE, 12L, ChangeType.UPDATED));
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(CacheInvalidation.EntityType.COURSE, 13L, ChangeType.UPDATED));
+        verify(eventPublisher, times(3)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testAppendsOncePerKeyAndTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onAbsenceRequestChanged(new AbsenceRequestChangedEvent(1L, 7L, ChangeType.CREATED, null, "PENDING", null));
+            service.onAbsenceRequestChanged(new AbsenceRequestChangedEvent(2L, 7L, ChangeType.CREATED, null, "PENDING", null));
+            service.onCourseChanged(new CourseChangedEvent(3L, 7L, ChangeType.UPDATED, "PENDING", "APPROVED", null));
+            service.onCourseChanged(new CourseChangedEvent(3L, 7L, ChangeType.UPDATED, "APPROVED", "REJECTED", null));
+            service.onCourseChanged(new CourseChangedEvent(4L, 7L, ChangeType.DELETED, "APPROVED", null, null));
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(0));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(repository).append(CacheInvalidation.EntityType.ABSENCE_REQUEST, null, ChangeType.CREATED, service.getNodeId());
+        verify(repository).append(CacheInvalidation.EntityType.COURSE, 3L, ChangeType.UPDATED, service.getNodeId());
+        verify(repository).append(CacheInvalidation.EntityType.COURSE, 4L, ChangeType.DELETED, service.getNodeId());
+        verify(repository, times(3)).append(any(), any(), any(), any());
+    }
+}
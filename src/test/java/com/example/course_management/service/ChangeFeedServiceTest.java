@@ -0,0 +1,135 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantProperties;
+import com.example.course_management.config.TenantRegistry;
+import com.example.course_management.dto.ChangeFeedDTO;
+import com.example.course_management.entity.ChangeLogEntry;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.repository.ChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeFeedServiceTest {
+
+    private static final ChangeLogEntry.EntityType COURSE = ChangeLogEntry.EntityType.COURSE;
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new ChangeFeedService(changeLogRepository,
+                new TenantRegistry(new TenantProperties(false, "X-Tenant-ID", null), "direction@example.com"), Duration.ofSeconds(2), 2);
+    }
+
+    private static ChangeLogEntry entry(long cursor) {
+        return entry(cursor, LocalDateTime.now().minusMinutes(1));
+    }
+
+    private static ChangeLogEntry entry(long cursor, LocalDateTime changedAt) {
+        return new ChangeLogEntry(cursor, COURSE, 100 + cursor, ChangeType.UPDATED, 1L, "APPROVED", changedAt);
+    }
+
+    @Test
+    void testPageStopsAtLimitAndReportsMore() {
+        when(changeLogRepository.findOldestId(COURSE)).thenReturn(1L);
+        when(changeLogRepository.findByEntityTypeAndIdGreaterThanOrderByIdAsc(eq(COURSE), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(entry(5), entry(7), entry(8)));
+
+        when(changeLogRepository.findDatabaseTime()).thenReturn(LocalDateTime.now());
+        ChangeFeedDTO feed = changeFeedService.getChanges(COURSE, 4, 10);
+
+        assertEquals(2, feed.changes().size());
+        assertEquals(7L, feed.nextCursor());
+        assertTrue(feed.hasMore());
+        assertFalse(feed.resyncRequired());
+    }
+
+    @Test
+    void testSettleCutoffFollowsTheDatabaseClockNotTheJvms() {
+        // Database an hour behind this JVM (e.g. another session time zone): entries it stamped a second ago
+        // must still count as unsettled
+        LocalDateTime databaseNow = LocalDateTime.now().minusHours(1);
+        when(changeLogRepository.findOldestId(COURSE)).thenReturn(1L);
+        when(changeLogRepository.findByEntityTypeAndIdGreaterThanOrderByIdAsc(eq(COURSE), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(entry(5, databaseNow.minusSeconds(10)), entry(6, databaseNow.minusSeconds(1))));
+        when(changeLogRepository.findDatabaseTime()).thenReturn(databaseNow);
+
+        ChangeFeedDTO feed = changeFeedService.getChanges(COURSE, 4, 10);
+
+        assertEquals(1, feed.changes().size());
+        assertEquals(5L, feed.nextCursor());
+    }
+
+    @Test
+    void testPageStopsAtFirstUnsettledEntryEvenIfLaterOnesLookSettled() {
+        // 6 is not settled yet; 7 got an earlier timestamp (stamped first, id assigned later), but serving it
+        // would move the cursor past 6 for good
+        when(changeLogRepository.findOldestId(COURSE)).thenReturn(1L);
+        when(changeLogRepository.findByEntityTypeAndIdGreaterThanOrderByIdAsc(eq(COURSE), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(entry(5), entry(6, LocalDateTime.now()), entry(7, LocalDateTime.now().minusMinutes(2))));
+
+        when(changeLogRepository.findDatabaseTime()).thenReturn(LocalDateTime.now());
+        ChangeFeedDTO feed = changeFeedService.getChanges(COURSE, 4, 10);
+
+        assertEquals(1, feed.changes().size());
+        assertEquals(5L, feed.nextCursor());
+        assertFalse(feed.hasMore());
+    }
+
+    @Test
+    void testEmptyPageKeepsCursor() {
+        when(changeLogRepository.findOldestId(COURSE)).thenReturn(1L);
+        when(changeLogRepository.findByEntityTypeAndIdGreaterThanOrderByIdAsc(eq(COURSE), eq(9L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        when(changeLogRepository.findDatabaseTime()).thenReturn(LocalDateTime.now());
+        ChangeFeedDTO feed = changeFeedService.getChanges(COURSE, 9, 10);
+
+        assertEquals(9L, feed.nextCursor());
+        assertFalse(feed.hasMore());
+    }
+
+    @Test
+    void testCursorBelowRetainedLogRequiresResync() {
+        when(changeLogRepository.findOldestId(COURSE)).thenReturn(50L);
+        when(changeLogRepository.findByEntityTypeAndIdGreaterThanOrderByIdAsc(eq(COURSE), eq(49L), any(Pageable.class)))
+                .thenReturn(List.of(entry(50)));
+
+        when(changeLogRepository.findDatabaseTime()).thenReturn(LocalDateTime.now());
+        ChangeFeedDTO feed = changeFeedService.getChanges(COURSE, 3, 10);
+
+        assertTrue(feed.resyncRequired());
+        assertEquals(50L, feed.nextCursor());
+    }
+
+    @Test
+    void testCourseEventAppendsEntry() {
+        changeFeedService.onCourseChanged(new CourseChangedEvent(3L, 1L, ChangeType.DELETED, "APPROVED", null, null));
+
+        ArgumentCaptor<ChangeLogEntry> captor = ArgumentCaptor.forClass(ChangeLogEntry.class);
+        verify(changeLogRepository).save(captor.capture());
+        assertEquals(COURSE, captor.getValue().getEntityType());
+        assertEquals(3L, captor.getValue().getEntityId());
+        assertEquals(ChangeType.DELETED, captor.getValue().getChangeType());
+        assertNull(captor.getValue().getStatus());
+    }
+}
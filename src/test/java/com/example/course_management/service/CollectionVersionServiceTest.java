@@ -0,0 +1,62 @@
+package com.example.course_management.service;
+
+import com.example.course_management.entity.CacheInvalidation;
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.CacheInvalidationEvent;
+import com.example.course_management.event.ChangeType;
+import com.example.course_management.event.CourseChangedEvent;
+import com.example.course_management.event.UserChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionVersionServiceTest {
+
+    private static final CollectionVersionService.Collection COURSES = CollectionVersionService.Collection.COURSES;
+    private static final CollectionVersionService.Collection ABSENCES = CollectionVersionService.Collection.ABSENCE_REQUESTS;
+
+    private final CollectionVersionService versions = new CollectionVersionService();
+
+    @Test
+    void testCourseRenameBumpsAbsenceRequestsToo() {
+        // Absence request lists embed the course name
+        versions.onCourseChanged(new CourseChangedEvent(1L, 7L, ChangeType.UPDATED, "APPROVED", "APPROVED", null));
+
+        assertEquals(1, versions.current(COURSES));
+        assertEquals(1, versions.current(ABSENCES));
+    }
+
+    @Test
+    void testRemoteCourseChangeBumpsBothCollections() {
+        versions.onRemoteChange(new CacheInvalidationEvent(CacheInvalidation.EntityType.COURSE, 1L, ChangeType.UPDATED));
+
+        assertEquals(1, versions.current(COURSES));
+        assertEquals(1, versions.current(ABSENCES));
+    }
+
+    @Test
+    void testAbsenceRequestChangeLeavesCoursesAlone() {
+        versions.onAbsenceRequestChanging(new AbsenceRequestChangedEvent(1L, 7L, ChangeType.CREATED, null, "PENDING", null));
+        versions.onAbsenceRequestChanged(new AbsenceRequestChangedEvent(1L, 7L, ChangeType.CREATED, null, "PENDING", null));
+
+        assertEquals(0, versions.current(COURSES));
+        assertEquals(2, versions.current(ABSENCES));
+    }
+
+    @Test
+    void testNewUserIsNotInAnyList() {
+        versions.onUserChanged(new UserChangedEvent(1L, "new@example.com", "new@example.com", ChangeType.CREATED));
+        versions.onUserChanged(new UserChangedEvent(2L, "old@example.com", "old@example.com", ChangeType.UPDATED));
+
+        assertEquals(1, versions.current(COURSES));
+        assertEquals(1, versions.current(ABSENCES));
+    }
+
+    @Test
+    void testEtagsNeverMatchAcrossInstances() {
+        CollectionVersionService other = new CollectionVersionService();
+
+        assertEquals(versions.etag("courses", COURSES), versions.etag("courses", COURSES));
+        assertNotEquals(versions.etag("courses", COURSES), other.etag("courses", COURSES));
+    }
+}
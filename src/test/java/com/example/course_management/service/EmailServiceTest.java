@@ -0,0 +1,70 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import com.example.course_management.config.TenantProperties;
+import com.example.course_management.config.TenantRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class EmailServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        TenantProperties tenants = new TenantProperties(true, "X-Tenant-ID", Map.of(
+                "north", new TenantProperties.Tenant(List.of("north.example.com"), null, "direction@north.example.com"),
+                "south", new TenantProperties.Tenant(List.of("south.example.com"), null, null)));
+        emailService = new EmailService(registry, new TenantRegistry(tenants, "direction@example.com"));
+        ReflectionTestUtils.setField(emailService, "mailSender", mailSender);
+    }
+
+    @Test
+    void testSendsAndFailuresAreCountedByType() {
+        emailService.sendNotification("a@example.com", "s", "m");
+        doThrow(new MailSendException("smtp down")).when(mailSender).send(any(SimpleMailMessage.class));
+        emailService.sendNotificationToDirection("s", "m");
+
+        assertEquals(1.0, registry.counter("email.sent", "type", "notification").count());
+        assertEquals(1.0, registry.counter("email.failed", "type", "direction").count());
+        assertEquals(1, registry.get("email.send").tag("type", "direction").timer().count());
+        assertEquals(0.0, registry.get("email.in_flight").gauge().value());
+    }
+
+    @Test
+    void testDirectionAddressIsTheCurrentTenants() {
+        TenantContext.runAs("north", () -> emailService.sendNotificationToDirection("s", "m"));
+        TenantContext.runAs("south", () -> emailService.sendNotificationToDirection("s", "m"));
+
+        ArgumentCaptor<SimpleMailMessage> sent = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender, times(2)).send(sent.capture());
+        assertArrayEquals(new String[]{"direction@north.example.com"}, sent.getAllValues().get(0).getTo());
+        // No address configured for the tenant: falls back to direction.email
+        assertArrayEquals(new String[]{"direction@example.com"}, sent.getAllValues().get(1).getTo());
+    }
+
+    @Test
+    void testFanOutIsRecordedPerBroadcast() {
+        emailService.recordFanOut("makeup-approved", 120);
+        emailService.recordFanOut("makeup-approved", 80);
+
+        var summary = registry.get("email.fanout.recipients").tag("broadcast", "makeup-approved").summary();
+        assertEquals(2, summary.count());
+        assertEquals(200.0, summary.totalAmount());
+    }
+}
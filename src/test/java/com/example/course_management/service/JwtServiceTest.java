@@ -0,0 +1,102 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.JwtProperties;
+import com.example.course_management.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceTest {
+
+    private static final String KEY_1 = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+    private static final String KEY_2 = "ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(42L);
+        user.setEmail("teacher@example.com");
+        user.setRole("TEACHER");
+    }
+
+    private JwtService service(String activeKeyId, Map<String, String> keys) {
+        return new JwtService(new JwtProperties("course-management", Duration.ofMinutes(15), Duration.ofDays(7), Duration.ofMinutes(1), activeKeyId, keys), "jwt");
+    }
+
+    @Test
+    void testAccessTokenRoundTrip() {
+        JwtService jwtService = service("k1", Map.of("k1", KEY_1));
+
+        Claims claims = jwtService.parse(jwtService.issueAccessToken(user), JwtService.TOKEN_TYPE_ACCESS);
+
+        assertEquals("teacher@example.com", claims.getSubject());
+        assertEquals(42L, jwtService.getUserId(claims));
+        assertEquals("ROLE_TEACHER", jwtService.getRole(claims));
+    }
+
+    @Test
+    void testRefreshTokenIsRejectedAsAccessToken() {
+        JwtService jwtService = service("k1", Map.of("k1", KEY_1));
+
+        String refreshToken = jwtService.issueRefreshToken(user);
+
+        assertThrows(JwtException.class, () -> jwtService.parse(refreshToken, JwtService.TOKEN_TYPE_ACCESS));
+    }
+
+    @Test
+    void testStreamTicketCarriesTheCallersIdentityAndIsNoAccessToken() {
+        JwtService jwtService = service("k1", Map.of("k1", KEY_1));
+        UsernamePasswordAuthenticationToken caller = new UsernamePasswordAuthenticationToken(
+                "teacher@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_TEACHER")));
+        caller.setDetails(42L);
+
+        String ticket = jwtService.issueStreamTicket(caller);
+        Claims claims = jwtService.parse(ticket, JwtService.TOKEN_TYPE_STREAM);
+
+        assertEquals("teacher@example.com", claims.getSubject());
+        assertEquals(42L, jwtService.getUserId(claims));
+        assertEquals("ROLE_TEACHER", jwtService.getRole(claims));
+        assertTrue(claims.getExpiration().getTime() - claims.getIssuedAt().getTime() <= 60_000);
+        assertThrows(JwtException.class, () -> jwtService.parse(ticket, JwtService.TOKEN_TYPE_ACCESS));
+    }
+
+    @Test
+    void testTokenSignedWithRetiredKeyStillVerifiesAfterRotation() {
+        String oldToken = service("k1", Map.of("k1", KEY_1)).issueAccessToken(user);
+
+        JwtService rotated = service("k2", Map.of("k1", KEY_1, "k2", KEY_2));
+
+        assertEquals("teacher@example.com", rotated.parse(oldToken, JwtService.TOKEN_TYPE_ACCESS).getSubject());
+    }
+
+    @Test
+    void testTokenSignedWithRemovedKeyIsRejected() {
+        String oldToken = service("k1", Map.of("k1", KEY_1)).issueAccessToken(user);
+
+        JwtService rotated = service("k2", Map.of("k2", KEY_2));
+
+        assertThrows(JwtException.class, () -> rotated.parse(oldToken, JwtService.TOKEN_TYPE_ACCESS));
+    }
+
+    @Test
+    void testJwtModeDoesNotStartWithoutAKey() {
+        // What binding leaves behind when JWT_KEY_K1 is not set
+        Map<String, String> unset = Map.of("k1", "${JWT_KEY_K1}");
+        JwtProperties properties = new JwtProperties("course-management", Duration.ofMinutes(15), Duration.ofDays(7), Duration.ofMinutes(1), "k1", unset);
+
+        assertThrows(IllegalStateException.class, () -> new JwtService(properties, "jwt"));
+        JwtService sessionMode = new JwtService(properties, "session");
+        assertThrows(IllegalStateException.class, () -> sessionMode.issueAccessToken(user));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.SecurityConfig;
+import com.example.course_management.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testOnlyLegacyAndWeakerHashesNeedRehash() {
+        PasswordEncoder encoder = SecurityConfig.passwordEncoder(4);
+        service = new PasswordHashingService(encoder, 1, 10, 200, Duration.ofSeconds(5));
+
+        assertTrue(service.needsRehash("plain-secret"));
+        assertTrue(service.needsRehash("{noop}plain-secret"));
+        assertFalse(service.needsRehash(service.encode("secret")));
+        // Raising the configured cost upgrades hashes made with the old one
+        assertTrue(new PasswordHashingService(SecurityConfig.passwordEncoder(5), 1, 1, 200, Duration.ofSeconds(5))
+                .needsRehash(service.encode("secret")));
+        assertFalse(service.needsRehash(null));
+    }
+
+    @Test
+    void testWaitingCallersAreCappedAtAQuarterOfTheRequestThreads() {
+        PasswordEncoder encoder = SecurityConfig.passwordEncoder(4);
+
+        service = new PasswordHashingService(encoder, 8, 0, 200, Duration.ofSeconds(5));
+        assertEquals(50, service.getMaxWaitingCallers());
+        service.shutdown();
+        // A configured queue larger than the cap is cut down to it, a smaller one is kept
+        service = new PasswordHashingService(encoder, 8, 1000, 200, Duration.ofSeconds(5));
+        assertEquals(50, service.getMaxWaitingCallers());
+        service.shutdown();
+        service = new PasswordHashingService(encoder, 2, 10, 200, Duration.ofSeconds(5));
+        assertEquals(12, service.getMaxWaitingCallers());
+        service.shutdown();
+        // More cores than the cap allows: the pool shrinks too, leaving one queue slot
+        service = new PasswordHashingService(encoder, 100, 0, 20, Duration.ofSeconds(5));
+        assertEquals(5, service.getMaxWaitingCallers());
+    }
+
+    @Test
+    void testSaturatedPoolRejectsInsteadOfQueueing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        // One worker and a one-slot queue: the third concurrent hash has nowhere to go
+        service = new PasswordHashingService(blocking, 1, 1, 200, Duration.ofSeconds(5));
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> service.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> service.encode("queued"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (service.getQueueSize() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(ServiceOverloadedException.class, () -> service.encode("rejected"));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterServiceTest {
+
+    private static RateLimitProperties properties(int maxInFlight) {
+        // The catch-all is declared first on purpose: precedence must not depend on binding order
+        Map<String, RateLimitProperties.Group> groups = new LinkedHashMap<>();
+        groups.put("default", new RateLimitProperties.Group(List.of("/**"), new RateLimitProperties.Quota(3, 0.001),
+                Map.of("admin", new RateLimitProperties.Quota(6, 0.001))));
+        groups.put("polling", new RateLimitProperties.Group(List.of("/api/teacher/absence-requests/**"),
+                new RateLimitProperties.Quota(2, 0.001), null));
+        groups.put("login", new RateLimitProperties.Group(List.of("/api/auth/login"),
+                new RateLimitProperties.Quota(1, 0.001), null));
+        return new RateLimitProperties(true, maxInFlight, groups);
+    }
+
+    private static RateLimiterService service(int maxInFlight, int requestThreads) {
+        return new RateLimiterService(properties(maxInFlight), new SimpleMeterRegistry(), requestThreads);
+    }
+
+    private static RateLimiterService.Decision acquireAndRelease(RateLimiterService service, String path, String client, String role) {
+        RateLimiterService.Result result = service.acquire(path, client, role);
+        if (result.decision() == RateLimiterService.Decision.ALLOWED) {
+            service.release();
+        }
+        return result.decision();
+    }
+
+    @Test
+    void testMostSpecificGroupWinsOverTheCatchAll() {
+        RateLimiterService service = service(100, 200);
+
+        assertEquals("login", service.findGroup("/api/auth/login"));
+        assertEquals("polling", service.findGroup("/api/teacher/absence-requests/pending"));
+        assertEquals("default", service.findGroup("/api/teacher/courses"));
+        assertEquals("login", service.acquire("/api/auth/login", "ip:1", null).group());
+    }
+
+    @Test
+    void testEachClientHasItsOwnBucketPerGroup() {
+        RateLimiterService service = service(100, 200);
+
+        assertEquals(RateLimiterService.Decision.ALLOWED, acquireAndRelease(service, "/api/auth/login", "ip:1", null));
+        RateLimiterService.Result limited = service.acquire("/api/auth/login", "ip:1", null);
+        assertEquals(RateLimiterService.Decision.RATE_LIMITED, limited.decision());
+        assertTrue(limited.retryAfterSeconds() >= 1);
+        assertEquals(RateLimiterService.Decision.ALLOWED, acquireAndRelease(service, "/api/auth/login", "ip:2", null));
+        // The login bucket is spent, the default one is not
+        assertEquals(RateLimiterService.Decision.ALLOWED, acquireAndRelease(service, "/api/courses", "ip:1", null));
+    }
+
+    @Test
+    void testRoleQuotaOverridesTheGroupQuota() {
+        RateLimiterService service = service(100, 200);
+
+        int teacherAllowed = 0;
+        int adminAllowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (acquireAndRelease(service, "/api/courses", "user:teacher", "ROLE_TEACHER") == RateLimiterService.Decision.ALLOWED) {
+                teacherAllowed++;
+            }
+            if (acquireAndRelease(service, "/api/courses", "user:admin", "ROLE_ADMIN") == RateLimiterService.Decision.ALLOWED) {
+                adminAllowed++;
+            }
+        }
+
+        assertEquals(3, teacherAllowed);
+        assertEquals(6, adminAllowed);
+    }
+
+    @Test
+    void testShedsBeyondTheInFlightLimitUntilARequestCompletes() {
+        RateLimiterService service = service(2, 200);
+
+        assertEquals(RateLimiterService.Decision.ALLOWED, service.acquire("/api/courses", "user:a", null).decision());
+        assertEquals(RateLimiterService.Decision.ALLOWED, service.acquire("/api/courses", "user:b", null).decision());
+        RateLimiterService.Result shed = service.acquire("/api/courses", "user:c", null);
+        assertEquals(RateLimiterService.Decision.SHED, shed.decision());
+        assertNull(shed.group());
+
+        service.release();
+        assertEquals(RateLimiterService.Decision.ALLOWED, service.acquire("/api/courses", "user:c", null).decision());
+    }
+
+    @Test
+    void testDefaultInFlightLimitStaysBelowTheWorkerCount() {
+        assertEquals(150, service(0, 200).getMaxInFlight());
+        assertEquals(500, service(500, 200).getMaxInFlight());
+    }
+}
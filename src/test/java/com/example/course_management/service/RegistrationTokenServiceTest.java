@@ -0,0 +1,75 @@
+package com.example.course_management.service;
+
+import com.example.course_management.config.TenantContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistrationTokenServiceTest {
+
+    private static final String SECRET = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private final RegistrationTokenService tokenService = new RegistrationTokenService(SECRET, Duration.ofDays(7));
+
+    @Test
+    void testValidTokenResolvesUserId() {
+        String token = tokenService.issue(42L);
+
+        assertEquals(Optional.of(42L), tokenService.verify(token));
+    }
+
+    @Test
+    void testTamperedUserIdIsRejected() {
+        String token = tokenService.issue(42L);
+
+        String forged = "43" + token.substring(token.indexOf('.'));
+
+        assertTrue(tokenService.verify(forged).isEmpty());
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        Instant issuedAt = Instant.parse("2026-01-01T00:00:00Z");
+        String token = tokenService.issue(42L, issuedAt);
+
+        assertTrue(tokenService.verify(token, issuedAt.plus(Duration.ofDays(6))).isPresent());
+        assertTrue(tokenService.verify(token, issuedAt.plus(Duration.ofDays(8))).isEmpty());
+    }
+
+    @Test
+    void testMalformedTokensAreRejected() {
+        assertTrue(tokenService.verify(null).isEmpty());
+        assertTrue(tokenService.verify("").isEmpty());
+        assertTrue(tokenService.verify("a0f3c2e4-uuid-style-token").isEmpty());
+        assertTrue(tokenService.verify("42.1700000000.not*base64").isEmpty());
+    }
+
+    @Test
+    void testTokenSignedWithAnotherSecretIsRejected() {
+        RegistrationTokenService other = new RegistrationTokenService("ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=", Duration.ofDays(7));
+
+        assertTrue(tokenService.verify(other.issue(42L)).isEmpty());
+    }
+
+    @Test
+    void testTokenIsOnlyValidInTheIssuingTenant() {
+        String token = TenantContext.callAs("north", () -> tokenService.issue(42L));
+
+        assertEquals(Optional.of(42L), TenantContext.callAs("north", () -> tokenService.verify(token)));
+        assertTrue(TenantContext.callAs("south", () -> tokenService.verify(token)).isEmpty());
+        assertTrue(tokenService.verify(token).isEmpty());
+    }
+
+    @Test
+    void testMissingSecretOnlyFailsWhenATokenIsUsed() {
+        RegistrationTokenService unset = new RegistrationTokenService("", Duration.ofDays(7));
+        RegistrationTokenService placeholder = new RegistrationTokenService("${REGISTRATION_TOKEN_SECRET}", Duration.ofDays(7));
+
+        assertThrows(IllegalStateException.class, () -> unset.issue(42L));
+        assertThrows(IllegalStateException.class, () -> placeholder.verify("42.1700000000.c2lnbmF0dXJl"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.course_management.service;
+
+import com.example.course_management.dto.AbsenceRequestDTO;
+import com.example.course_management.dto.CourseDTO;
+import com.example.course_management.dto.TeacherDashboardDTO;
+import com.example.course_management.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TeacherDashboardServiceTest {
+
+    @Mock
+    private CourseService courseService;
+
+    @Mock
+    private AbsenceRequestService absenceRequestService;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testQueriesRunConcurrently() {
+        // Each query waits until all three have started, so a sequential implementation would time out
+        CountDownLatch started = new CountDownLatch(3);
+        CourseDTO course = new CourseDTO();
+        CourseDTO proposal = new CourseDTO();
+        AbsenceRequestDTO absence = new AbsenceRequestDTO();
+        when(courseService.getCoursesByTeacher(7L)).thenAnswer(inv -> awaitAll(started, List.of(course)));
+        when(courseService.getPendingTeacherApprovalCourses(7L)).thenAnswer(inv -> awaitAll(started, List.of(proposal)));
+        when(absenceRequestService.getAbsenceRequestsByTeacher(7L)).thenAnswer(inv -> awaitAll(started, List.of(absence)));
+        TeacherDashboardService service = new TeacherDashboardService(courseService, absenceRequestService, executor, Duration.ofSeconds(5));
+
+        TeacherDashboardDTO dashboard = service.getDashboard(7L);
+
+        assertEquals(List.of(course), dashboard.courses());
+        assertEquals(List.of(proposal), dashboard.pendingMakeupProposals());
+        assertEquals(List.of(absence), dashboard.absenceRequests());
+    }
+
+    @Test
+    void testSlowQueryTimesOut() {
+        when(courseService.getCoursesByTeacher(7L)).thenAnswer(inv -> {
+            Thread.sleep(2_000);
+            return List.of();
+        });
+        TeacherDashboardService service = new TeacherDashboardService(courseService, absenceRequestService, executor, Duration.ofMillis(50));
+
+        assertThrows(ServiceOverloadedException.class, () -> service.getDashboard(7L));
+    }
+
+    private static <T> T awaitAll(CountDownLatch started, T result) throws InterruptedException {
+        started.countDown();
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.course_management.service;
+
+import com.example.course_management.event.AbsenceRequestChangedEvent;
+import com.example.course_management.event.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TeacherEventServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TeacherEventService teacherEventService;
+
+    @BeforeEach
+    void setUp() {
+        teacherEventService = service(Runnable::run);
+    }
+
+    private TeacherEventService service(Executor executor) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new TeacherEventService(meterRegistry, executor, Duration.ofMinutes(1), 2, 3);
+    }
+
+    private static AbsenceRequestChangedEvent statusChanged(long requestId) {
+        return new AbsenceRequestChangedEvent(requestId, 1L, ChangeType.UPDATED, "PENDING", "APPROVED", null);
+    }
+
+    private double dropped() {
+        return meterRegistry.get("teacher_events.dropped").counter().count();
+    }
+
+    @Test
+    void testSubscribeRefusedBeyondPerTeacherLimit() {
+        assertNotNull(teacherEventService.subscribe(1L));
+        assertNotNull(teacherEventService.subscribe(1L));
+
+        assertNull(teacherEventService.subscribe(1L));
+        assertNotNull(teacherEventService.subscribe(2L));
+        assertEquals(3, teacherEventService.getOpenConnections());
+    }
+
+    @Test
+    void testFailedEmitterIsReleased() {
+        SseEmitter emitter = teacherEventService.subscribe(1L);
+        teacherEventService.subscribe(1L);
+        emitter.complete();
+
+        // The completed emitter fails on the next write and frees its slot
+        teacherEventService.heartbeat();
+
+        assertEquals(1, teacherEventService.getOpenConnections());
+        assertNotNull(teacherEventService.subscribe(1L));
+    }
+
+    @Test
+    void testPublishingOnlyQueuesAndDropsForAClientThatFallsBehind() {
+        // A delivery thread stuck on a slow socket: nothing it was handed runs yet
+        Queue<Runnable> deliveries = new ArrayDeque<>();
+        teacherEventService = service(deliveries::add);
+        teacherEventService.subscribe(1L);
+
+        for (long i = 0; i < 10; i++) {
+            teacherEventService.onAbsenceRequestChanged(statusChanged(i));
+        }
+
+        // One drain per stream however many events arrive; beyond the pending limit ("connected" + 2) events are dropped
+        assertEquals(1, deliveries.size());
+        assertEquals(8, dropped());
+
+        deliveries.poll().run();
+        teacherEventService.onAbsenceRequestChanged(statusChanged(10));
+        assertEquals(1, deliveries.size());
+        assertEquals(8, dropped());
+    }
+
+    @Test
+    void testSaturatedExecutorDoesNotFailThePublisher() {
+        teacherEventService = service(task -> {
+            throw new RejectedExecutionException("full");
+        });
+        teacherEventService.subscribe(1L);
+
+        assertDoesNotThrow(() -> teacherEventService.onAbsenceRequestChanged(statusChanged(1L)));
+        assertEquals(1, teacherEventService.getOpenConnections());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.course_management.service;
+
+import com.example.course_management.dto.BulkInviteResultDTO;
+import com.example.course_management.entity.User;
+import com.example.course_management.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TeacherInviteServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private RegistrationTokenService registrationTokenService;
+
+    @Mock
+    private EmailService emailService;
+
+    private TeacherInviteService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TeacherInviteService(userRepository, userExistenceFilter, registrationTokenService, emailService, 3);
+        AtomicLong nextId = new AtomicLong(100);
+        // The batch insert is a no-op; reading the inserted emails back assigns ids
+        when(userRepository.findByEmailIn(anyCollection())).thenAnswer(inv -> {
+            Collection<String> emails = inv.getArgument(0);
+            return emails.stream().map(email -> {
+                User user = new User();
+                user.setId(nextId.getAndIncrement());
+                user.setEmail(email);
+                user.setFullName("Teacher " + email);
+                return user;
+            }).toList();
+        });
+        when(registrationTokenService.issue(anyLong())).thenAnswer(inv -> "token-" + inv.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testParseCsvSkipsHeaderAndBlankLinesAndHonoursQuotes() {
+        String csv = "Email,Full Name\r\n"
+                + "jane@example.com,\"Doe, Jane\"\n"
+                + "\n"
+                + "   \n"
+                + "quote@example.com,\"Said \"\"Hi\"\"\"\n"
+                + "only-email@example.com\n";
+
+        List<TeacherInviteService.InviteRow> rows = service.parseCsv(csv);
+
+        assertEquals(List.of(
+                new TeacherInviteService.InviteRow("jane@example.com", "Doe, Jane"),
+                new TeacherInviteService.InviteRow("quote@example.com", "Said \"Hi\""),
+                new TeacherInviteService.InviteRow("only-email@example.com", null)), rows);
+    }
+
+    @Test
+    void testParseCsvOnlyTreatsTheFirstLineAsHeader() {
+        List<TeacherInviteService.InviteRow> rows = service.parseCsv("a@example.com,A\nemail@example.com,B");
+
+        assertEquals(2, rows.size());
+        assertEquals("email@example.com", rows.get(1).email());
+    }
+
+    @Test
+    void testBulkInviteReportsEveryRowInOrder() {
+        when(userExistenceFilter.mightContainEmail(anyString())).thenReturn(false);
+        when(userExistenceFilter.mightContainEmail("taken@example.com")).thenReturn(true);
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("Taken@example.com"));
+
+        List<BulkInviteResultDTO> results = service.inviteTeachers(List.of(
+                new TeacherInviteService.InviteRow(" new@example.com ", "New Teacher"),
+                new TeacherInviteService.InviteRow("NEW@example.com", "Same Teacher"),
+                new TeacherInviteService.InviteRow("taken@example.com", "Existing Teacher")));
+
+        assertEquals(List.of("INVITED", "DUPLICATE", "DUPLICATE"), results.stream().map(BulkInviteResultDTO::getStatus).toList());
+        assertEquals("new@example.com", results.get(0).getEmail());
+        verify(userRepository).findExistingEmails(List.of("taken@example.com"));
+        verify(userRepository).batchInsert(argThat(users -> users.size() == 1
+                && users.get(0).getEmail().equals("new@example.com") && !users.get(0).isActivated()));
+        verify(userExistenceFilter).recordUser("new@example.com", "new@example.com");
+        verify(emailService).queueInviteEmail(eq("new@example.com"), anyString(), endsWith("token-100"));
+    }
+
+    @Test
+    void testInvalidRowsAreReportedAndNotInserted() {
+        List<BulkInviteResultDTO> results = service.inviteTeachers(List.of(
+                new TeacherInviteService.InviteRow("not-an-email", "Someone"),
+                new TeacherInviteService.InviteRow("blank@example.com", " ")));
+
+        assertEquals(List.of("INVALID", "INVALID"), results.stream().map(BulkInviteResultDTO::getStatus).toList());
+        verify(userRepository, never()).batchInsert(anyList());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testRejectsMoreRowsThanTheLimit() {
+        List<TeacherInviteService.InviteRow> rows = List.of(
+                new TeacherInviteService.InviteRow("a@example.com", "A"),
+                new TeacherInviteService.InviteRow("b@example.com", "B"),
+                new TeacherInviteService.InviteRow("c@example.com", "C"),
+                new TeacherInviteService.InviteRow("d@example.com", "D"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.inviteTeachers(rows));
+        verifyNoInteractions(userRepository, emailService);
+    }
+
+    @Test
+    void testEmailsAreOnlyQueuedOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.inviteTeachers(List.of(new TeacherInviteService.InviteRow("a@example.com", "A")));
+
+        verifyNoInteractions(emailService);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(emailService).queueInviteEmail(eq("a@example.com"), anyString(), anyString());
+    }
+
+    @Test
+    void testRolledBackInvitesSendNoEmail() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.inviteTeachers(List.of(new TeacherInviteService.InviteRow("a@example.com", "A")));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(emailService, never()).queueInviteEmail(any(), any(), any());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.course_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testEntryExpiresAfterTtl() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofSeconds(60), 10, now::get);
+        cache.put("a", "1");
+
+        now.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertEquals("1", cache.get("a"));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvictedWhenFull() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofSeconds(60), 2, now::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+
+        cache.put("c", "3");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void testGetOrLoadCachesOnlyNonNullValues() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofSeconds(60), 10, now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.getOrLoad("missing", key -> { loads.incrementAndGet(); return null; }));
+        assertNull(cache.getOrLoad("missing", key -> { loads.incrementAndGet(); return null; }));
+        assertEquals("v", cache.getOrLoad("present", key -> { loads.incrementAndGet(); return "v"; }));
+        assertEquals("v", cache.getOrLoad("present", key -> { loads.incrementAndGet(); return "v"; }));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testInvalidateValuesRemovesMatchingEntries() {
+        ExpiringCache<String, Long> cache = new ExpiringCache<>(Duration.ofSeconds(60), 10, now::get);
+        cache.put("old@example.com", 7L);
+        cache.put("other@example.com", 8L);
+
+        cache.invalidateValues(id -> id == 7L);
+
+        assertNull(cache.get("old@example.com"));
+        assertEquals(8L, cache.get("other@example.com"));
+    }
+}
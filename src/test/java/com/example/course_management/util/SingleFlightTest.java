@@ -0,0 +1,107 @@
+package com.example.course_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    // Counts the load, then blocks until released so other callers pile up behind it
+    private String blockingLoad(CountDownLatch started, CountDownLatch release, String value) {
+        loads.incrementAndGet();
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    @Test
+    void testConcurrentCallsShareOneLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> singleFlight.execute("approved", () -> blockingLoad(started, release, "rows"))));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 9; i++) {
+                results.add(pool.submit(() -> singleFlight.execute("approved", () -> blockingLoad(started, release, "other"))));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("rows", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void testSequentialCallsLoadAgain() {
+        singleFlight.execute("approved", () -> "a" + loads.incrementAndGet());
+
+        assertEquals("a2", singleFlight.execute("approved", () -> "a" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void testFailureIsSharedThenForgotten() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> singleFlight.execute("approved", () -> {
+                blockingLoad(started, release, null);
+                throw new IllegalStateException("db down");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> waiter = pool.submit(() -> singleFlight.execute("approved", () -> "unused"));
+            Thread.sleep(50);
+            release.countDown();
+
+            Exception failure = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals("fresh", singleFlight.execute("approved", () -> "fresh"));
+    }
+
+    @Test
+    void testForgetAllStartsNewFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = pool.submit(() -> singleFlight.execute("approved", () -> blockingLoad(started, release, "before-write")));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            singleFlight.forgetAll();
+
+            assertEquals("after-write", singleFlight.execute("approved", () -> "after-write"));
+            release.countDown();
+            assertEquals("before-write", stale.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.course_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testAllowsBurstUpToCapacityThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+
+        long wait = bucket.tryAcquire(0);
+        assertTrue(wait > 0);
+        assertTrue(wait <= SECOND);
+    }
+
+    @Test
+    void testRefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 2.0, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(SECOND / 4) > 0);
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+    }
+
+    @Test
+    void testBucketIsFullAgainAfterIdlePeriod() {
+        TokenBucket bucket = new TokenBucket(5, 5.0, 0);
+        bucket.tryAcquire(0);
+
+        assertFalse(bucket.isFull(0));
+        assertTrue(bucket.isFull(SECOND));
+    }
+}